@@ -1,7 +1,18 @@
 const puppeteer = require('puppeteer');
 const http = require('http');
 
+// Fixed pool of reusable pages; requests beyond it wait in a bounded queue
+const POOL_SIZE = parseInt(process.env.PDF_POOL_SIZE || '2', 10);
+const MAX_QUEUE = parseInt(process.env.PDF_MAX_QUEUE || '8', 10);
+const QUEUE_TIMEOUT_MS = parseInt(process.env.PDF_QUEUE_TIMEOUT_MS || '20000', 10);
+const RETRY_AFTER_SECONDS = parseInt(process.env.PDF_RETRY_AFTER_SECONDS || '2', 10);
+
 let browser;
+let browserStarting;
+
+const idlePages = [];
+const waiters = [];
+let totalPages = 0;
 
 const initBrowser = async () => {
     const launchOptions = {
@@ -21,57 +32,198 @@ const initBrowser = async () => {
     }
 
     browser = await puppeteer.launch(launchOptions);
+    browser.on('disconnected', () => {
+        console.error('Browser disconnected, pool will be rebuilt');
+        browser = null;
+        // Pages of a dead browser are useless; in-flight ones are replaced on release
+        totalPages -= idlePages.length;
+        idlePages.length = 0;
+    });
     console.log('Browser initialized');
 };
 
+const ensureBrowser = async () => {
+    if (browser) return browser;
+    if (!browserStarting) {
+        browserStarting = initBrowser().finally(() => {
+            browserStarting = null;
+        });
+    }
+    await browserStarting;
+    return browser;
+};
+
+const createPage = async () => {
+    const b = await ensureBrowser();
+    const page = await b.newPage();
+    await page.setViewport({ width: 794, height: 1123, deviceScaleFactor: 1 });
+    return page;
+};
+
+const warmPool = async () => {
+    while (totalPages < POOL_SIZE) {
+        totalPages++;
+        try {
+            idlePages.push(await createPage());
+        } catch (error) {
+            totalPages--;
+            throw error;
+        }
+    }
+    console.log(`Page pool ready (${POOL_SIZE} pages, queue ${MAX_QUEUE})`);
+};
+
+// Resolves with a page, or returns null when both the pool and the queue are full
+const acquirePage = () => {
+    if (idlePages.length > 0) {
+        return Promise.resolve(idlePages.pop());
+    }
+    if (totalPages < POOL_SIZE) {
+        totalPages++;
+        return createPage().catch(error => {
+            totalPages--;
+            throw error;
+        });
+    }
+    if (waiters.length >= MAX_QUEUE) {
+        return null;
+    }
+    return new Promise((resolve, reject) => {
+        const waiter = { resolve, reject };
+        waiter.timer = setTimeout(() => {
+            const index = waiters.indexOf(waiter);
+            if (index >= 0) waiters.splice(index, 1);
+            const error = new Error('Timed out waiting for a render slot');
+            error.busy = true;
+            reject(error);
+        }, QUEUE_TIMEOUT_MS);
+        waiters.push(waiter);
+    });
+};
+
+const handOff = (page) => {
+    const waiter = waiters.shift();
+    if (waiter) {
+        clearTimeout(waiter.timer);
+        waiter.resolve(page);
+    } else {
+        idlePages.push(page);
+    }
+};
+
+// A slot freed up without a page: open one for the first queued request, or fail
+// it now instead of at its queue timeout (and move on to the next one)
+const serveWaiter = () => {
+    const waiter = waiters.shift();
+    if (!waiter) return;
+    clearTimeout(waiter.timer);
+    totalPages++;
+    createPage().then(waiter.resolve, error => {
+        totalPages--;
+        waiter.reject(error);
+        serveWaiter();
+    });
+};
+
+// Resets the page before it goes back to the pool; broken pages are replaced
+const releasePage = async (page, healthy) => {
+    if (healthy) {
+        try {
+            await page.goto('about:blank');
+            handOff(page);
+            return;
+        } catch (error) {
+            console.error('Page reset failed, replacing page:', error.message);
+        }
+    }
+
+    try {
+        await page.close();
+    } catch (error) {
+        // Already gone with its browser
+    }
+    try {
+        handOff(await createPage());
+    } catch (error) {
+        console.error('Could not replace page:', error.message);
+        totalPages--;
+        serveWaiter();
+    }
+};
+
+const readBody = (req) => new Promise((resolve, reject) => {
+    const chunks = [];
+    req.on('data', chunk => chunks.push(chunk));
+    req.on('end', () => resolve(Buffer.concat(chunks).toString('utf8')));
+    req.on('error', reject);
+});
+
+const sendBusy = (res, status, message) => {
+    res.writeHead(status, {
+        'Content-Type': 'text/plain',
+        'Retry-After': String(RETRY_AFTER_SECONDS)
+    });
+    res.end(message);
+};
+
+const renderPdf = async (page, body) => {
+    await page.setContent(body, {
+        waitUntil: 'domcontentloaded',
+        timeout: 10000
+    });
+
+    const bodyHeight = await page.evaluate(() => document.documentElement.scrollHeight);
+    const heightMm = Math.ceil(bodyHeight * 0.264583) + 1;
+    const finalHeight = Math.max(50, heightMm);
+
+    return page.pdf({
+        width: '210mm',
+        height: `${finalHeight}mm`,
+        printBackground: true,
+        margin: { top: 0, right: 0, bottom: 0, left: 0 },
+        pageRanges: '1'
+    });
+};
+
 const server = http.createServer(async (req, res) => {
     if (req.method === 'POST' && req.url === '/generate') {
-        let body = '';
-        req.on('data', chunk => {
-            body += chunk.toString();
-        });
+        const pending = acquirePage();
+        if (pending === null) {
+            sendBusy(res, 429, 'Render queue full');
+            return;
+        }
 
-        req.on('end', async () => {
-            if (!browser) {
-                await initBrowser();
-            }
+        let page;
+        let healthy = true;
+        try {
+            const [body, acquired] = await Promise.all([readBody(req), pending]);
+            page = acquired;
+
+            const pdf = await renderPdf(page, body);
+
+            res.writeHead(200, {
+                'Content-Type': 'application/pdf',
+                'Content-Length': pdf.length
+            });
+            res.end(pdf);
 
-            let page;
-            try {
-                page = await browser.newPage();
-
-                await page.setViewport({ width: 794, height: 1123, deviceScaleFactor: 1 });
-                await page.setContent(body, {
-                    waitUntil: 'domcontentloaded',
-                    timeout: 10000
-                });
-
-                const bodyHeight = await page.evaluate(() => document.documentElement.scrollHeight);
-                const heightMm = Math.ceil(bodyHeight * 0.264583) + 1;
-                const finalHeight = Math.max(50, heightMm);
-
-                const pdf = await page.pdf({
-                    width: '210mm',
-                    height: `${finalHeight}mm`,
-                    printBackground: true,
-                    margin: { top: 0, right: 0, bottom: 0, left: 0 },
-                    pageRanges: '1'
-                });
-
-                res.writeHead(200, {
-                    'Content-Type': 'application/pdf',
-                    'Content-Length': pdf.length
-                });
-                res.end(pdf);
-
-            } catch (error) {
-                console.error('PDF Gen Error:', error);
-                res.writeHead(500, { 'Content-Type': 'text/plain' });
-                res.end('Error generating PDF: ' + error.message);
-            } finally {
-                if (page) await page.close();
+        } catch (error) {
+            if (error.busy) {
+                sendBusy(res, 503, error.message);
+                return;
             }
-        });
+            healthy = false;
+            console.error('PDF Gen Error:', error);
+            res.writeHead(500, { 'Content-Type': 'text/plain' });
+            res.end('Error generating PDF: ' + error.message);
+        } finally {
+            if (page) {
+                await releasePage(page, healthy);
+            } else {
+                // Acquired after the request failed; return it unused
+                pending.then(p => handOff(p), () => {});
+            }
+        }
     } else if (req.url === '/health') {
         res.writeHead(200);
         res.end('OK');
@@ -81,10 +233,14 @@ const server = http.createServer(async (req, res) => {
     }
 });
 
+// Keep idle connections open so the Java client can reuse them between exports
+server.keepAliveTimeout = 65000;
+server.headersTimeout = 66000;
+
 // Start server
 const PORT = 3000;
 (async () => {
-    await initBrowser();
+    await warmPool();
     server.listen(PORT, () => {
         console.log(`PDF Server running on port ${PORT}`);
     });
@@ -0,0 +1,129 @@
+package com.resumebuilder.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.resumebuilder.dto.ResumeDTO;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Render cost of {@link PdfService#generatePdfDirect} for every template style.
+ *
+ * Fixtures: "small" is a name, contact line and a few skills; "typical" is the
+ * software engineer professional sample; "pathological" is a service-based
+ * resume with 20 jobs, each with client projects and long highlight lists.
+ *
+ * The render cache is disabled so every op is a full render. Throughput and
+ * sampled latency (p50/p90/p99) are reported per template and fixture; the
+ * default jmh.args add the GC profiler for allocation rate per op.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms512m", "-Xmx512m"})
+public class PdfRenderBenchmark {
+
+    @Param({"modern", "classic", "minimal", "executive", "creative", "ats",
+            "atsclean", "atsbold", "atscompact", "twocolumn", "developer"})
+    public String template;
+
+    @Param({"small", "typical", "pathological"})
+    public String fixture;
+
+    private PdfService pdfService;
+    private ResumeDTO resume;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        PdfLayoutRegistry layoutRegistry = new PdfLayoutRegistry(null, new ObjectMapper());
+        layoutRegistry.loadBuiltIns();
+        // A bare PdfRenderCache is disabled (app.pdf.cache.enabled is never bound)
+        pdfService = new PdfService(null, new PdfRenderCache(), null, layoutRegistry, new PdfLayoutRenderer());
+
+        resume = switch (fixture) {
+            case "small" -> smallResume();
+            case "typical" -> new ProfessionalSamplesService().getSampleByProfession("software-engineer");
+            case "pathological" -> serviceBasedResume(20);
+            default -> throw new IllegalArgumentException("Unknown fixture: " + fixture);
+        };
+    }
+
+    @Benchmark
+    public byte[] generatePdf() {
+        return pdfService.generatePdfDirect(resume, template);
+    }
+
+    private static ResumeDTO smallResume() {
+        ResumeDTO resume = new ResumeDTO();
+        resume.setFullName("Jordan Lee");
+        resume.setEmail("jordan.lee@email.com");
+        resume.setPhone("+1 (555) 010-2030");
+        resume.setSkills(List.of("Java", "SQL", "Git"));
+        return resume;
+    }
+
+    private static ResumeDTO serviceBasedResume(int jobs) {
+        ResumeDTO resume = new ProfessionalSamplesService().getSampleByProfession("software-engineer");
+        resume.setSummary(resume.getSummary().repeat(4));
+
+        List<ResumeDTO.Experience> experience = new ArrayList<>();
+        for (int i = 0; i < jobs; i++) {
+            ResumeDTO.Experience job = new ResumeDTO.Experience();
+            job.setCompany("Consulting Partner " + (i + 1));
+            job.setPosition(i % 2 == 0 ? "Senior Consultant" : "Technical Lead");
+            job.setLocation("Bengaluru, India");
+            job.setStartDate("Jan " + (2000 + i));
+            job.setEndDate(i == jobs - 1 ? "" : "Dec " + (2000 + i));
+            job.setDescription("Delivered engagements across banking, retail and healthcare clients.");
+            job.setHighlights(highlights("Led delivery for engagement " + (i + 1), 6));
+            job.setServiceBased(true);
+
+            List<ResumeDTO.ClientProject> clients = new ArrayList<>();
+            for (int c = 0; c < 3; c++) {
+                ResumeDTO.ClientProject client = new ResumeDTO.ClientProject();
+                client.setClientName("Client " + (char) ('A' + c));
+                client.setProjectName("Platform migration " + (c + 1));
+                client.setRole("Backend Engineer");
+                client.setStartDate("Mar " + (2000 + i));
+                client.setEndDate("Nov " + (2000 + i));
+                client.setDescription("Migrated legacy services to a containerised Spring Boot platform.");
+                client.setHighlights(highlights("Reduced batch runtime for module " + (c + 1), 5));
+                clients.add(client);
+            }
+            job.setClientProjects(clients);
+            experience.add(job);
+        }
+        resume.setExperience(experience);
+
+        List<String> skills = new ArrayList<>(resume.getSkills());
+        for (int i = 0; i < 40; i++) {
+            skills.add("Skill " + i);
+        }
+        resume.setSkills(skills);
+        return resume;
+    }
+
+    private static List<String> highlights(String prefix, int count) {
+        List<String> highlights = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            highlights.add(prefix + ": cut p99 latency by " + (10 + i * 5)
+                    + "% through query tuning, caching and removing redundant service calls");
+        }
+        return highlights;
+    }
+}
@@ -0,0 +1,81 @@
+package com.resumebuilder.config;
+
+import io.netty.channel.ChannelOption;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.time.Duration;
+
+/**
+ * The one HTTP client for AI provider calls, shared by AiService,
+ * JobMatchService and ResumeParserService. Connections are pooled per
+ * provider host and kept alive between requests, so consecutive calls skip
+ * the TCP and TLS handshakes. HTTP/2 is negotiated where the provider offers
+ * it. Every call has a connect and a response timeout.
+ *
+ * Idle connections are closed before providers typically drop them
+ * (max-idle-ms), so a reused connection is rarely already dead.
+ */
+@Configuration
+public class AiHttpClientConfig {
+
+    @Value("${app.ai.http.max-connections:50}")
+    private int maxConnections;
+
+    @Value("${app.ai.http.pending-acquire-timeout-ms:10000}")
+    private long pendingAcquireTimeoutMillis;
+
+    @Value("${app.ai.http.max-idle-ms:30000}")
+    private long maxIdleMillis;
+
+    @Value("${app.ai.http.max-life-ms:300000}")
+    private long maxLifeMillis;
+
+    @Value("${app.ai.http.connect-timeout-ms:5000}")
+    private int connectTimeoutMillis;
+
+    @Value("${app.ai.http.response-timeout-ms:60000}")
+    private long responseTimeoutMillis;
+
+    @Value("${app.ai.http.http2:true}")
+    private boolean http2;
+
+    // Large prompts and completions (parsed resumes, generated JSON) exceed the 256KB default
+    @Value("${app.ai.http.max-in-memory-size:10485760}")
+    private int maxInMemorySize;
+
+    @Bean(destroyMethod = "dispose")
+    public ConnectionProvider aiConnectionProvider() {
+        return ConnectionProvider.builder("ai")
+                .maxConnections(maxConnections)
+                .pendingAcquireTimeout(Duration.ofMillis(pendingAcquireTimeoutMillis))
+                .maxIdleTime(Duration.ofMillis(maxIdleMillis))
+                .maxLifeTime(Duration.ofMillis(maxLifeMillis))
+                .evictInBackground(Duration.ofSeconds(30))
+                .build();
+    }
+
+    @Bean
+    public WebClient aiWebClient(WebClient.Builder builder, ConnectionProvider aiConnectionProvider) {
+        HttpClient httpClient = HttpClient.create(aiConnectionProvider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, connectTimeoutMillis)
+                .option(ChannelOption.SO_KEEPALIVE, true)
+                .responseTimeout(Duration.ofMillis(responseTimeoutMillis))
+                .keepAlive(true)
+                .compress(true);
+        if (http2) {
+            httpClient = httpClient.protocol(HttpProtocol.H2, HttpProtocol.HTTP11);
+        }
+
+        return builder
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
+                .codecs(configurer -> configurer.defaultCodecs().maxInMemorySize(maxInMemorySize))
+                .build();
+    }
+}
@@ -5,6 +5,7 @@ import com.resumebuilder.entity.Template;
 import com.resumebuilder.repository.AiProviderConfigRepository;
 import com.resumebuilder.repository.ApiKeyRepository;
 import com.resumebuilder.repository.TemplateRepository;
+import com.resumebuilder.service.ReferenceDataCache;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.jdbc.core.JdbcTemplate;
@@ -21,13 +22,16 @@ public class DatabaseInitializer implements CommandLineRunner {
     private final TemplateRepository templateRepository;
     private final AiProviderConfigRepository aiProviderConfigRepository;
     private final ApiKeyRepository apiKeyRepository;
+    private final ReferenceDataCache referenceData;
 
     public DatabaseInitializer(JdbcTemplate jdbcTemplate, TemplateRepository templateRepository,
-            AiProviderConfigRepository aiProviderConfigRepository, ApiKeyRepository apiKeyRepository) {
+            AiProviderConfigRepository aiProviderConfigRepository, ApiKeyRepository apiKeyRepository,
+            ReferenceDataCache referenceData) {
         this.jdbcTemplate = jdbcTemplate;
         this.templateRepository = templateRepository;
         this.aiProviderConfigRepository = aiProviderConfigRepository;
         this.apiKeyRepository = apiKeyRepository;
+        this.referenceData = referenceData;
     }
 
     @Override
@@ -39,13 +43,86 @@ public class DatabaseInitializer implements CommandLineRunner {
         } catch (Exception e) {
             log.error("Error updating database schema: " + e.getMessage());
         }
+        migrateResumeSectionsToJsonb();
+        backfillResumeSummaries();
+        try {
+            // Rows from before optimistic locking have no version yet
+            jdbcTemplate.update("UPDATE resumes SET version = 0 WHERE version IS NULL");
+        } catch (Exception e) {
+            log.error("Error initializing resume versions: " + e.getMessage());
+        }
+        try {
+            // Existing deployments predate the entity-level index definitions
+            jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS idx_user_sessions_user_id ON user_sessions (user_id)");
+            jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS idx_user_sessions_expires_at ON user_sessions (expires_at)");
+            jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS idx_resumes_user_updated ON resumes (user_id, updated_at DESC, id DESC)");
+        } catch (Exception e) {
+            log.error("Error creating indexes: " + e.getMessage());
+        }
 
         initializeTemplates();
         initializeAiConfig();
         initializeGeneralKeys();
+        // Anything read before the defaults were written is stale
+        referenceData.invalidateAll();
         initializeAdminUsers();
     }
 
+    /**
+     * Resume sections used to be JSON strings in TEXT columns. Converts them in
+     * place; the conversion is a no-op once the columns are jsonb. Serialized
+     * nulls ("null", stored for empty lists) become SQL NULL so the jsonb array
+     * functions never see a scalar. Databases converted before that was done
+     * hold jsonb null scalars instead, so those are cleared on every start.
+     */
+    private void migrateResumeSectionsToJsonb() {
+        for (String column : List.of("experience", "education", "skills", "projects", "certifications")) {
+            try {
+                List<String> types = jdbcTemplate.queryForList(
+                        "SELECT data_type FROM information_schema.columns WHERE table_name = 'resumes' AND column_name = ?",
+                        String.class, column);
+                if (types.isEmpty()) {
+                    continue;
+                }
+                if (!"jsonb".equals(types.get(0))) {
+                    jdbcTemplate.execute("ALTER TABLE resumes ALTER COLUMN " + column
+                            + " TYPE jsonb USING NULLIF(NULLIF(" + column + ", ''), 'null')::jsonb");
+                    log.info("Converted resumes.{} from {} to jsonb", column, types.get(0));
+                }
+                int cleared = jdbcTemplate.update("UPDATE resumes SET " + column + " = NULL WHERE jsonb_typeof("
+                        + column + ") = 'null'");
+                if (cleared > 0) {
+                    log.info("Cleared {} jsonb null values in resumes.{}", cleared, column);
+                }
+            } catch (Exception e) {
+                log.error("Error converting resumes.{} to jsonb: {}", column, e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Section counts and top skills are kept by the entity on every save; rows
+     * saved before those columns existed get them here, once (the counts are
+     * never NULL afterwards).
+     */
+    private void backfillResumeSummaries() {
+        try {
+            int filled = jdbcTemplate.update("UPDATE resumes SET "
+                    + "skill_count = COALESCE(jsonb_array_length(skills), 0), "
+                    + "experience_count = COALESCE(jsonb_array_length(experience), 0), "
+                    + "education_count = COALESCE(jsonb_array_length(education), 0), "
+                    + "project_count = COALESCE(jsonb_array_length(projects), 0), "
+                    + "certification_count = COALESCE(jsonb_array_length(certifications), 0), "
+                    + "top_skill1 = skills ->> 0, top_skill2 = skills ->> 1, top_skill3 = skills ->> 2 "
+                    + "WHERE skill_count IS NULL");
+            if (filled > 0) {
+                log.info("Backfilled list summaries of {} resumes", filled);
+            }
+        } catch (Exception e) {
+            log.error("Error backfilling resume summaries: {}", e.getMessage());
+        }
+    }
+
     @org.springframework.beans.factory.annotation.Value("${app.admin.emails:rachitbishnoi28@gmail.com,rachitbishnoi16@gmail.com}")
     private String adminEmailsStr;
 
@@ -83,6 +160,11 @@ public class DatabaseInitializer implements CommandLineRunner {
                 new Template("modern-eu", "Modern Europe", "europe", "Contemporary European design", "modern", null),
                 new Template("modern-au", "Modern Australia", "australia", "Standard Australian resume format",
                         "modern", null));
+        // Keep layout structures set by admins; only the metadata is reset
+        for (Template template : defaults) {
+            templateRepository.findById(template.getId())
+                    .ifPresent(existing -> template.setStructure(existing.getStructure()));
+        }
         templateRepository.saveAll(defaults);
     }
 
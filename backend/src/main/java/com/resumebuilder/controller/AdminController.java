@@ -2,17 +2,29 @@ package com.resumebuilder.controller;
 
 import com.resumebuilder.dto.ApiKeyDTO;
 import com.resumebuilder.entity.User;
+import com.resumebuilder.service.AiExecutor;
 import com.resumebuilder.service.ApiKeyService;
+import com.resumebuilder.service.AutosaveBuffer;
 import com.resumebuilder.service.AuthService;
+import com.resumebuilder.service.JobDescriptionCache;
+import com.resumebuilder.service.PdfLayoutRegistry;
+import com.resumebuilder.service.ReferenceDataCache;
 import com.resumebuilder.repository.UserRepository;
 import com.resumebuilder.repository.TemplateRepository;
+import com.resumebuilder.security.AdminOnly;
+import com.resumebuilder.security.AuthenticationFilter;
+import com.resumebuilder.security.CurrentUser;
+import com.resumebuilder.service.SessionSweeper;
+import com.resumebuilder.service.SessionTokenCache;
+import com.resumebuilder.service.SignedTokenService;
+import com.resumebuilder.service.TailoredResumeJobs;
 import lombok.RequiredArgsConstructor;
-import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 @RestController
 @RequestMapping("/api/admin")
@@ -24,131 +36,155 @@ public class AdminController {
     private final UserRepository userRepository;
     private final TemplateRepository templateRepository;
     private final com.resumebuilder.service.AiService aiService;
+    private final PdfLayoutRegistry layoutRegistry;
+    private final AuthenticationFilter authenticationFilter;
+    private final SessionTokenCache tokenCache;
+    private final SignedTokenService signedTokens;
+    private final SessionSweeper sessionSweeper;
+    private final AutosaveBuffer autosaveBuffer;
+    private final ReferenceDataCache referenceData;
+    private final AiExecutor aiExecutor;
+    private final JobDescriptionCache jobDescriptionCache;
+    private final TailoredResumeJobs resumeJobs;
 
     // ===== API KEYS =====
+    @AdminOnly
     @GetMapping("/api-keys")
-    public ResponseEntity<?> getAllApiKeys(
-            @RequestHeader(value = "Authorization", required = false) String authHeader) {
-        if (!authService.isAdmin(authHeader)) {
-            return ResponseEntity.status(HttpStatus.FORBIDDEN).body(Map.of("error", "Admin access required"));
-        }
+    public ResponseEntity<?> getAllApiKeys() {
         List<ApiKeyDTO> keys = apiKeyService.getAllKeys();
         return ResponseEntity.ok(keys);
     }
 
+    @AdminOnly
     @PostMapping("/api-keys")
-    public ResponseEntity<?> createApiKey(
-            @RequestHeader(value = "Authorization", required = false) String authHeader,
-            @RequestBody ApiKeyDTO.CreateRequest request) {
-        if (!authService.isAdmin(authHeader)) {
-            return ResponseEntity.status(HttpStatus.FORBIDDEN).body(Map.of("error", "Admin access required"));
-        }
+    public ResponseEntity<?> createApiKey(@RequestBody ApiKeyDTO.CreateRequest request) {
         ApiKeyDTO key = apiKeyService.createKey(request);
         return ResponseEntity.ok(key);
     }
 
+    @AdminOnly
     @PutMapping("/api-keys/{id}")
     public ResponseEntity<?> updateApiKey(
-            @RequestHeader(value = "Authorization", required = false) String authHeader,
             @PathVariable String id,
             @RequestBody ApiKeyDTO.UpdateRequest request) {
-        if (!authService.isAdmin(authHeader)) {
-            return ResponseEntity.status(HttpStatus.FORBIDDEN).body(Map.of("error", "Admin access required"));
-        }
         ApiKeyDTO key = apiKeyService.updateKey(id, request);
         return ResponseEntity.ok(key);
     }
 
+    @AdminOnly
     @DeleteMapping("/api-keys/{id}")
-    public ResponseEntity<?> deleteApiKey(
-            @RequestHeader(value = "Authorization", required = false) String authHeader,
-            @PathVariable String id) {
-        if (!authService.isAdmin(authHeader)) {
-            return ResponseEntity.status(HttpStatus.FORBIDDEN).body(Map.of("error", "Admin access required"));
-        }
+    public ResponseEntity<?> deleteApiKey(@PathVariable String id) {
         apiKeyService.deleteKey(id);
         return ResponseEntity.ok(Map.of("message", "API key deleted"));
     }
 
+    @AdminOnly
     @PostMapping("/api-keys/{id}/reset-errors")
-    public ResponseEntity<?> resetErrors(
-            @RequestHeader(value = "Authorization", required = false) String authHeader,
-            @PathVariable String id) {
-        if (!authService.isAdmin(authHeader)) {
-            return ResponseEntity.status(HttpStatus.FORBIDDEN).body(Map.of("error", "Admin access required"));
-        }
+    public ResponseEntity<?> resetErrors(@PathVariable String id) {
         apiKeyService.resetErrors(id);
         return ResponseEntity.ok(Map.of("message", "Errors reset"));
     }
 
     @GetMapping("/check")
-    public ResponseEntity<?> checkAdmin(@RequestHeader(value = "Authorization", required = false) String authHeader) {
-        return ResponseEntity.ok(Map.of("isAdmin", authService.isAdmin(authHeader)));
+    public ResponseEntity<?> checkAdmin(@CurrentUser User user) {
+        return ResponseEntity.ok(Map.of("isAdmin", user != null && user.isAdmin()));
+    }
+
+    @AdminOnly
+    @GetMapping("/auth/stats")
+    public ResponseEntity<?> getAuthStats() {
+        return ResponseEntity.ok(Map.of(
+                "requests", authenticationFilter.stats(),
+                "tokenCache", tokenCache.stats(),
+                "sessionSweeper", sessionSweeper.stats(),
+                "signedTokens", Map.of(
+                        "enabled", signedTokens.isEnabled(),
+                        "revocations", signedTokens.revocationCount())));
+    }
+
+    @AdminOnly
+    @GetMapping("/autosave/stats")
+    public ResponseEntity<?> getAutosaveStats() {
+        return ResponseEntity.ok(autosaveBuffer.stats());
+    }
+
+    @AdminOnly
+    @GetMapping("/ai/stats")
+    public ResponseEntity<?> getAiStats() {
+        Map<String, Object> stats = new java.util.HashMap<>(aiExecutor.stats());
+        stats.put("resumeJobs", resumeJobs.stats());
+        return ResponseEntity.ok(stats);
+    }
+
+    @AdminOnly
+    @GetMapping("/reference-cache/stats")
+    public ResponseEntity<?> getReferenceCacheStats() {
+        return ResponseEntity.ok(referenceData.stats());
+    }
+
+    @AdminOnly
+    @GetMapping("/jd-cache/stats")
+    public ResponseEntity<?> getJobDescriptionCacheStats() {
+        return ResponseEntity.ok(jobDescriptionCache.stats());
+    }
+
+    @AdminOnly
+    @DeleteMapping("/jd-cache")
+    public ResponseEntity<?> clearJobDescriptionCache() {
+        jobDescriptionCache.clear();
+        return ResponseEntity.ok(Map.of("message", "Job description cache cleared"));
     }
 
     // ===== USER MANAGEMENT =====
+    @AdminOnly
     @GetMapping("/users")
-    public ResponseEntity<?> getAllUsers(@RequestHeader(value = "Authorization", required = false) String authHeader) {
-        if (!authService.isAdmin(authHeader)) {
-            return ResponseEntity.status(HttpStatus.FORBIDDEN).body(Map.of("error", "Admin access required"));
-        }
+    public ResponseEntity<?> getAllUsers() {
         return ResponseEntity.ok(userRepository.findAll());
     }
 
+    @AdminOnly
     @PostMapping("/users")
-    public ResponseEntity<?> createUser(@RequestHeader(value = "Authorization", required = false) String authHeader,
-            @RequestBody User user) {
-        if (!authService.isAdmin(authHeader)) {
-            return ResponseEntity.status(HttpStatus.FORBIDDEN).body(Map.of("error", "Admin access required"));
-        }
+    public ResponseEntity<?> createUser(@RequestBody User user) {
         return ResponseEntity.ok(userRepository.save(user));
     }
 
+    @AdminOnly
     @PutMapping("/users/{id}")
-    public ResponseEntity<?> updateUser(@RequestHeader(value = "Authorization", required = false) String authHeader,
-            @PathVariable String id, @RequestBody User userDetails) {
-        if (!authService.isAdmin(authHeader)) {
-            return ResponseEntity.status(HttpStatus.FORBIDDEN).body(Map.of("error", "Admin access required"));
-        }
+    public ResponseEntity<?> updateUser(@PathVariable String id, @RequestBody User userDetails) {
         User user = userRepository.findById(id).orElseThrow();
         user.setAdmin(userDetails.isAdmin());
         // Only update email if it's changing and not empty
         if (userDetails.getEmail() != null && !userDetails.getEmail().isEmpty()) {
             user.setEmail(userDetails.getEmail());
         }
-        return ResponseEntity.ok(userRepository.save(user));
+        User saved = userRepository.save(user);
+        authService.invalidateUser(id);
+        return ResponseEntity.ok(saved);
     }
 
+    @AdminOnly
     @DeleteMapping("/users/{id}")
-    public ResponseEntity<?> deleteUser(@RequestHeader(value = "Authorization", required = false) String authHeader,
-            @PathVariable String id) {
-        if (!authService.isAdmin(authHeader)) {
-            return ResponseEntity.status(HttpStatus.FORBIDDEN).body(Map.of("error", "Admin access required"));
-        }
+    public ResponseEntity<?> deleteUser(@PathVariable String id) {
         userRepository.deleteById(id);
+        authService.invalidateUser(id);
         return ResponseEntity.ok(Map.of("message", "User deleted"));
     }
 
     // ===== TEMPLATE MANAGEMENT =====
+    @AdminOnly
     @GetMapping("/templates")
-    public ResponseEntity<?> getAllTemplates(
-            @RequestHeader(value = "Authorization", required = false) String authHeader) {
-        if (!authService.isAdmin(authHeader)) {
-            return ResponseEntity.status(HttpStatus.FORBIDDEN).body(Map.of("error", "Admin access required"));
-        }
-        return ResponseEntity.ok(templateRepository.findAll());
+    public ResponseEntity<?> getAllTemplates() {
+        return ResponseEntity.ok(referenceData.templates());
     }
 
+    @AdminOnly
     @PostMapping("/templates/generate-ai")
-    public ResponseEntity<?> generateTemplateFromAI(
-            @RequestHeader(value = "Authorization", required = false) String authHeader,
-            @RequestBody Map<String, String> request) {
-        if (!authService.isAdmin(authHeader)) {
-            return ResponseEntity.status(HttpStatus.FORBIDDEN).body(Map.of("error", "Admin access required"));
-        }
-
+    public CompletableFuture<ResponseEntity<?>> generateTemplateFromAI(@RequestBody Map<String, String> request) {
         String description = request.get("description");
-        Map<String, String> metadata = aiService.generateTemplateMetadata(description);
+        return aiExecutor.submit(() -> saveGeneratedTemplate(description, aiService.generateTemplateMetadata(description)));
+    }
+
+    private ResponseEntity<?> saveGeneratedTemplate(String description, Map<String, String> metadata) {
 
         com.resumebuilder.entity.Template template = new com.resumebuilder.entity.Template();
         template.setId(java.util.UUID.randomUUID().toString());
@@ -157,16 +193,48 @@ public class AdminController {
         template.setBaseStyle(metadata.getOrDefault("baseStyle", "modern"));
         template.setCountry(metadata.getOrDefault("country", "usa"));
 
-        return ResponseEntity.ok(templateRepository.save(template));
+        com.resumebuilder.entity.Template saved = templateRepository.save(template);
+        referenceData.invalidateTemplates();
+        layoutRegistry.refresh();
+        return ResponseEntity.ok(saved);
     }
 
-    @DeleteMapping("/templates/{id}")
-    public ResponseEntity<?> deleteTemplate(@RequestHeader(value = "Authorization", required = false) String authHeader,
-            @PathVariable String id) {
-        if (!authService.isAdmin(authHeader)) {
-            return ResponseEntity.status(HttpStatus.FORBIDDEN).body(Map.of("error", "Admin access required"));
+    /**
+     * Sets the PDF layout description of a template (see PdfLayoutCompiler), so
+     * the template renders server-side with its own layout. An empty body
+     * clears it and the template falls back to its base style.
+     */
+    @AdminOnly
+    @PutMapping("/templates/{id}/structure")
+    public ResponseEntity<?> updateTemplateStructure(
+            @PathVariable String id,
+            @RequestBody(required = false) String structure) {
+        com.resumebuilder.entity.Template template = templateRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("Template not found: " + id));
+
+        if (structure != null && !structure.isBlank()) {
+            try {
+                layoutRegistry.validate(structure);
+            } catch (IllegalArgumentException e) {
+                return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+            }
+            template.setStructure(structure);
+        } else {
+            template.setStructure(null);
         }
+
+        com.resumebuilder.entity.Template saved = templateRepository.save(template);
+        referenceData.invalidateTemplates();
+        layoutRegistry.refresh();
+        return ResponseEntity.ok(saved);
+    }
+
+    @AdminOnly
+    @DeleteMapping("/templates/{id}")
+    public ResponseEntity<?> deleteTemplate(@PathVariable String id) {
         templateRepository.deleteById(id);
+        referenceData.invalidateTemplates();
+        layoutRegistry.refresh();
         return ResponseEntity.ok(Map.of("message", "Template deleted"));
     }
 }
@@ -2,9 +2,9 @@ package com.resumebuilder.controller;
 
 import com.resumebuilder.entity.AiProviderConfig;
 import com.resumebuilder.repository.AiProviderConfigRepository;
-import com.resumebuilder.service.AuthService;
+import com.resumebuilder.security.AdminOnly;
+import com.resumebuilder.service.ReferenceDataCache;
 import lombok.RequiredArgsConstructor;
-import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import java.util.ArrayList;
@@ -14,81 +14,67 @@ import java.util.Map;
 @RestController
 @RequestMapping("/api/admin/ai-config")
 @RequiredArgsConstructor
+@AdminOnly
 @CrossOrigin(origins = "*")
 public class AiConfigController {
     private final AiProviderConfigRepository repository;
-    private final AuthService authService;
+    private final ReferenceDataCache referenceData;
 
     @GetMapping
-    public ResponseEntity<?> getAll(@RequestHeader(value = "Authorization", required = false) String authHeader) {
-        if (!authService.isAdmin(authHeader)) {
-            return ResponseEntity.status(HttpStatus.FORBIDDEN).body(Map.of("error", "Admin access required"));
-        }
+    public ResponseEntity<?> getAll() {
         // Return all configs, including any manual Gemini/Browser ones if the admin
         // added them
         return ResponseEntity.ok(repository.findAll());
     }
 
     @PostMapping
-    public ResponseEntity<?> save(@RequestHeader(value = "Authorization", required = false) String authHeader,
-            @RequestBody AiProviderConfig config) {
-        if (!authService.isAdmin(authHeader)) {
-            return ResponseEntity.status(HttpStatus.FORBIDDEN).body(Map.of("error", "Admin access required"));
-        }
+    public ResponseEntity<?> save(@RequestBody AiProviderConfig config) {
         if (repository.count() == 0) {
             config.setActive(true);
         }
-        return ResponseEntity.ok(repository.save(config));
+        AiProviderConfig saved = repository.save(config);
+        referenceData.invalidateAiConfig();
+        return ResponseEntity.ok(saved);
     }
 
     @PostMapping("/{id}/keys")
-    public ResponseEntity<?> addKey(@RequestHeader(value = "Authorization", required = false) String authHeader,
-            @PathVariable Long id, @RequestBody String key) {
-        if (!authService.isAdmin(authHeader)) {
-            return ResponseEntity.status(HttpStatus.FORBIDDEN).body(Map.of("error", "Admin access required"));
-        }
+    public ResponseEntity<?> addKey(@PathVariable Long id, @RequestBody String key) {
         AiProviderConfig config = repository.findById(id).orElseThrow();
         if (config.getApiKeys() == null)
             config.setApiKeys(new ArrayList<>());
         config.getApiKeys().add(key.replace("\"", ""));
-        return ResponseEntity.ok(repository.save(config));
+        AiProviderConfig saved = repository.save(config);
+        referenceData.invalidateAiConfig();
+        return ResponseEntity.ok(saved);
     }
 
     @PostMapping("/{id}/activate")
-    public ResponseEntity<?> activate(@RequestHeader(value = "Authorization", required = false) String authHeader,
-            @PathVariable Long id) {
-        if (!authService.isAdmin(authHeader)) {
-            return ResponseEntity.status(HttpStatus.FORBIDDEN).body(Map.of("error", "Admin access required"));
-        }
+    public ResponseEntity<?> activate(@PathVariable Long id) {
         List<AiProviderConfig> all = repository.findAll();
         for (AiProviderConfig c : all) {
             c.setActive(c.getId().equals(id));
         }
         repository.saveAll(all);
+        referenceData.invalidateAiConfig();
         return ResponseEntity.ok(Map.of("message", "Activated"));
     }
 
     @PostMapping("/{id}/select-key/{index}")
-    public ResponseEntity<?> selectKey(@RequestHeader(value = "Authorization", required = false) String authHeader,
-            @PathVariable Long id, @PathVariable int index) {
-        if (!authService.isAdmin(authHeader)) {
-            return ResponseEntity.status(HttpStatus.FORBIDDEN).body(Map.of("error", "Admin access required"));
-        }
+    public ResponseEntity<?> selectKey(@PathVariable Long id, @PathVariable int index) {
         AiProviderConfig config = repository.findById(id).orElseThrow();
         if (index < 0 || index >= config.getApiKeys().size()) {
             return ResponseEntity.badRequest().body(Map.of("error", "Invalid key index"));
         }
         config.setCurrentKeyIndex(index);
-        return ResponseEntity.ok(repository.save(config));
+        AiProviderConfig saved = repository.save(config);
+        referenceData.invalidateAiConfig();
+        return ResponseEntity.ok(saved);
     }
 
     @DeleteMapping("/{id}")
-    public ResponseEntity<?> delete(@RequestHeader(value = "Authorization", required = false) String authHeader,
-            @PathVariable Long id) {
-        if (!authService.isAdmin(authHeader)) {
-            return ResponseEntity.status(HttpStatus.FORBIDDEN).body(Map.of("error", "Admin access required"));
-        }
+    public ResponseEntity<?> delete(@PathVariable Long id) {
         repository.deleteById(id);
+        referenceData.invalidateAiConfig();
         return ResponseEntity.ok(Map.of("message", "Deleted"));
     }
 }
@@ -1,10 +1,15 @@
 package com.resumebuilder.controller;
 
 import com.resumebuilder.dto.AiDTO;
+import com.resumebuilder.service.AiExecutor;
 import com.resumebuilder.service.AiService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+
+import java.util.concurrent.CompletableFuture;
 
 @RestController
 @RequestMapping("/api/ai")
@@ -12,10 +17,12 @@ import org.springframework.web.bind.annotation.*;
 public class AiController {
 
     private final AiService aiService;
+    private final AiExecutor aiExecutor;
 
+    // Provider calls run on the AI pool; the servlet thread is released meanwhile
     @PostMapping("/analyze")
-    public ResponseEntity<AiDTO.ChatResponse> analyzeJobDescription(@RequestBody AiDTO.ChatRequest request) {
-        return ResponseEntity.ok(aiService.processJobDescription(request));
+    public CompletableFuture<ResponseEntity<AiDTO.ChatResponse>> analyzeJobDescription(@RequestBody AiDTO.ChatRequest request) {
+        return aiExecutor.submit(() -> ResponseEntity.ok(aiService.processJobDescription(request)));
     }
 
     @PostMapping("/optimize")
@@ -24,7 +31,13 @@ public class AiController {
     }
 
     @PostMapping("/chat")
-    public ResponseEntity<AiDTO.ChatResponse> chatWithResume(@RequestBody AiDTO.ChatRequest request) {
-        return ResponseEntity.ok(aiService.chatWithResume(request));
+    public CompletableFuture<ResponseEntity<AiDTO.ChatResponse>> chatWithResume(@RequestBody AiDTO.ChatRequest request) {
+        return aiExecutor.submit(() -> ResponseEntity.ok(aiService.chatWithResume(request)));
+    }
+
+    /** Like /chat, but relays the reply as server-sent events while it is generated (see AiService.streamChat). */
+    @PostMapping("/chat/stream")
+    public Flux<ServerSentEvent<Object>> streamChat(@RequestBody AiDTO.ChatRequest request) {
+        return aiExecutor.stream(() -> aiService.streamChat(request));
     }
 }
@@ -2,6 +2,8 @@ package com.resumebuilder.controller;
 
 import com.resumebuilder.dto.AuthDTO;
 import com.resumebuilder.entity.User;
+import com.resumebuilder.security.CurrentUser;
+import com.resumebuilder.security.RequireAuth;
 import com.resumebuilder.service.AuthService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -27,16 +29,9 @@ public class AuthController {
         return ResponseEntity.ok(authService.verifyOtp(request.getEmail(), request.getOtp()));
     }
 
+    @RequireAuth
     @GetMapping("/me")
-    public ResponseEntity<?> getCurrentUser(
-            @RequestHeader(value = "Authorization", required = false) String authHeader) {
-        String token = extractToken(authHeader);
-        User user = authService.validateToken(token);
-
-        if (user == null) {
-            return ResponseEntity.status(401).body(Map.of("error", "Unauthorized"));
-        }
-
+    public ResponseEntity<?> getCurrentUser(@CurrentUser User user) {
         return ResponseEntity.ok(Map.of(
                 "id", user.getId(),
                 "email", user.getEmail(),
@@ -1,12 +1,15 @@
 package com.resumebuilder.controller;
 
 import com.resumebuilder.dto.JobMatchDTO;
+import com.resumebuilder.service.AiExecutor;
 import com.resumebuilder.service.JobMatchService;
+import com.resumebuilder.service.TailoredResumeJobs;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 @RestController
 @RequestMapping("/api/job-match")
@@ -14,19 +17,33 @@ import java.util.Map;
 public class JobMatchController {
 
     private final JobMatchService jobMatchService;
+    private final AiExecutor aiExecutor;
+    private final TailoredResumeJobs resumeJobs;
 
     @PostMapping("/analyze")
-    public ResponseEntity<?> analyzeJob(@RequestBody JobMatchDTO.JobAnalysisRequest request) {
+    public CompletableFuture<ResponseEntity<?>> analyzeJob(@RequestBody JobMatchDTO.JobAnalysisRequest request) {
         if (request.getJobDescription() == null || request.getJobDescription().trim().isEmpty()) {
-            return ResponseEntity.badRequest().body(Map.of("error", "Job description is required"));
+            return CompletableFuture.completedFuture(
+                    ResponseEntity.badRequest().body(Map.of("error", "Job description is required")));
         }
 
-        try {
-            JobMatchDTO.JobAnalysisResponse response = jobMatchService.analyzeAndCreateResume(request);
-            return ResponseEntity.ok(response);
-        } catch (Exception e) {
-            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
-        }
+        return aiExecutor.submit(() -> {
+            try {
+                JobMatchDTO.JobAnalysisResponse response = jobMatchService.analyzeJob(request);
+                return ResponseEntity.ok(response);
+            } catch (Exception e) {
+                return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+            }
+        });
     }
-}
 
+    /** State of a tailored resume job; with waitMs the response is held until the job finishes or the wait ends. */
+    @GetMapping("/jobs/{id}")
+    public CompletableFuture<ResponseEntity<?>> getResumeJob(@PathVariable String id,
+                                                             @RequestParam(defaultValue = "0") long waitMs) {
+        return resumeJobs.get(id, waitMs)
+                .<CompletableFuture<ResponseEntity<?>>>map(job -> job.thenApply(ResponseEntity::ok))
+                .orElseGet(() -> CompletableFuture.completedFuture(
+                        ResponseEntity.status(404).body(Map.of("error", "Job not found or expired"))));
+    }
+}
@@ -1,121 +1,227 @@
 package com.resumebuilder.controller;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.resumebuilder.dto.PdfExportDTO;
 import com.resumebuilder.dto.ResumeDTO;
 import com.resumebuilder.entity.User;
-import com.resumebuilder.service.AuthService;
+import com.resumebuilder.security.CurrentUser;
+import com.resumebuilder.security.RequireAuth;
+import com.resumebuilder.service.PdfBatchExporter;
+import com.resumebuilder.service.PdfRenderClient;
 import com.resumebuilder.service.PdfService;
+import com.resumebuilder.service.ResumeRevisionService;
 import com.resumebuilder.service.ResumeService;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.core.io.InputStreamResource;
 import org.springframework.http.HttpHeaders;
-import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 @RestController
 @RequestMapping("/api/resumes")
 @RequiredArgsConstructor
+@RequireAuth
 public class ResumeController {
 
     private final ResumeService resumeService;
     private final PdfService pdfService;
-    private final AuthService authService;
+    private final PdfBatchExporter batchExporter;
+    private final ResumeRevisionService revisionService;
 
     @PostMapping
     public ResponseEntity<?> create(
-            @RequestHeader(value = "Authorization", required = false) String authHeader,
+            @CurrentUser User user,
             @Valid @RequestBody ResumeDTO dto) {
-        User user = getAuthenticatedUser(authHeader);
-        if (user == null) {
-            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(Map.of("error", "Unauthorized"));
-        }
         return ResponseEntity.ok(resumeService.create(dto, user.getEmail()));
     }
 
     @PutMapping("/{id}")
     public ResponseEntity<?> update(
-            @RequestHeader(value = "Authorization", required = false) String authHeader,
+            @CurrentUser User user,
             @PathVariable String id,
             @Valid @RequestBody ResumeDTO dto) {
-        User user = getAuthenticatedUser(authHeader);
-        if (user == null) {
-            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(Map.of("error", "Unauthorized"));
-        }
         return ResponseEntity.ok(resumeService.update(id, dto, user.getEmail()));
     }
 
+    /**
+     * Partial update: only the fields present in the body are changed and
+     * written. Include "version" to reject the patch if the resume changed
+     * since it was read (409). The change is buffered and written shortly
+     * after (see AutosaveBuffer); the response carries the version to send
+     * with the next patch.
+     */
+    @PatchMapping("/{id}")
+    public ResponseEntity<?> patch(
+            @CurrentUser User user,
+            @PathVariable String id,
+            @RequestBody JsonNode patch) {
+        try {
+            long version = resumeService.patchBuffered(id, patch, user.getEmail());
+            return ResponseEntity.ok(Map.of("id", id, "version", version));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<?> getById(
-            @RequestHeader(value = "Authorization", required = false) String authHeader,
+            @CurrentUser User user,
             @PathVariable String id) {
-        User user = getAuthenticatedUser(authHeader);
-        if (user == null) {
-            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(Map.of("error", "Unauthorized"));
-        }
         return ResponseEntity.ok(resumeService.getById(id, user.getEmail()));
     }
 
+    /**
+     * Resume summaries for the list view, newest first. Pass the returned
+     * nextCursor as cursor to get the following page.
+     */
     @GetMapping
     public ResponseEntity<?> getAll(
-            @RequestHeader(value = "Authorization", required = false) String authHeader) {
-        User user = getAuthenticatedUser(authHeader);
-        if (user == null) {
-            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(Map.of("error", "Unauthorized"));
+            @CurrentUser User user,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int limit) {
+        try {
+            return ResponseEntity.ok(resumeService.getSummariesByUser(user.getEmail(), cursor, limit));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    @GetMapping("/search")
+    public ResponseEntity<?> searchBySkill(@CurrentUser User user, @RequestParam String skill) {
+        if (skill.isBlank()) {
+            return ResponseEntity.badRequest().body(Map.of("error", "Skill is required"));
         }
-        return ResponseEntity.ok(resumeService.getAllByUser(user.getEmail()));
+        return ResponseEntity.ok(resumeService.findBySkill(skill, user.getEmail()));
+    }
+
+    @GetMapping("/{id}/revisions")
+    public ResponseEntity<?> getRevisions(
+            @CurrentUser User user,
+            @PathVariable String id) {
+        return ResponseEntity.ok(resumeService.getRevisions(id, user.getEmail()));
+    }
+
+    @GetMapping("/{id}/revisions/{revision}")
+    public ResponseEntity<?> getRevision(
+            @CurrentUser User user,
+            @PathVariable String id,
+            @PathVariable int revision) {
+        return ResponseEntity.ok(revisionService.load(id, revision, user.getEmail()));
+    }
+
+    /** Values changed between two revisions, as JSON pointer paths with old and new value. */
+    @GetMapping("/{id}/revisions/diff")
+    public ResponseEntity<?> diffRevisions(
+            @CurrentUser User user,
+            @PathVariable String id,
+            @RequestParam int from,
+            @RequestParam int to) {
+        return ResponseEntity.ok(revisionService.diff(id, from, to, user.getEmail()));
+    }
+
+    @PostMapping("/{id}/revisions/{revision}/restore")
+    public ResponseEntity<?> restoreRevision(
+            @CurrentUser User user,
+            @PathVariable String id,
+            @PathVariable int revision) {
+        return ResponseEntity.ok(resumeService.restore(id, revision, user.getEmail()));
     }
 
     @DeleteMapping("/{id}")
     public ResponseEntity<?> delete(
-            @RequestHeader(value = "Authorization", required = false) String authHeader,
+            @CurrentUser User user,
             @PathVariable String id) {
-        User user = getAuthenticatedUser(authHeader);
-        if (user == null) {
-            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(Map.of("error", "Unauthorized"));
-        }
         resumeService.delete(id, user.getEmail());
         return ResponseEntity.noContent().build();
     }
 
-    @PostMapping("/pdf/export")
+    @PostMapping(value = "/pdf/export", consumes = MediaType.APPLICATION_JSON_VALUE)
     public ResponseEntity<?> exportPdfFromHtml(
-            @RequestHeader(value = "Authorization", required = false) String authHeader,
+            @CurrentUser User user,
             @RequestBody Map<String, String> payload) {
-        User user = getAuthenticatedUser(authHeader);
-        if (user == null) {
-            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(Map.of("error", "Unauthorized"));
-        }
-
         String html = payload.get("html");
         if (html == null || html.isEmpty()) {
             return ResponseEntity.badRequest().body(Map.of("error", "HTML content required"));
         }
 
-        byte[] pdf = pdfService.generatePdfFromHtml(html);
+        return pdfResponse(pdfService.streamPdfFromHtml(html));
+    }
+
+    /**
+     * Streaming variant of the export: the raw HTML request body is piped into the
+     * render service and the PDF is piped back, so neither is held in memory.
+     */
+    @PostMapping(value = "/pdf/export", consumes = MediaType.TEXT_HTML_VALUE)
+    public ResponseEntity<?> streamPdfFromHtml(
+            @CurrentUser User user,
+            HttpServletRequest request) throws IOException {
+        if (request.getContentLengthLong() == 0) {
+            return ResponseEntity.badRequest().body(Map.of("error", "HTML content required"));
+        }
+
+        return pdfResponse(pdfService.streamPdfFromHtml(request.getInputStream(), request.getContentLengthLong()));
+    }
 
+    // InputStreamResource is copied to the response in small chunks and closed afterwards
+    private ResponseEntity<?> pdfResponse(PdfRenderClient.RenderStream pdf) {
         HttpHeaders headers = new HttpHeaders();
         headers.setContentType(MediaType.APPLICATION_PDF);
         headers.setContentDispositionFormData("attachment", "resume.pdf");
+        if (pdf.contentLength() > 0) {
+            headers.setContentLength(pdf.contentLength());
+        }
 
         return ResponseEntity.ok()
                 .headers(headers)
-                .body(pdf);
+                .body(new InputStreamResource(pdf.body()));
+    }
+
+    /**
+     * Renders several resumes in parallel and streams them back as one ZIP,
+     * entries appearing as they finish.
+     */
+    @PostMapping("/pdf/batch")
+    public ResponseEntity<StreamingResponseBody> exportPdfBatch(
+            @CurrentUser User user,
+            @Valid @RequestBody PdfExportDTO.BatchRequest request) {
+        if (request.getItems().size() > batchExporter.getMaxItems()) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        Set<String> ids = new LinkedHashSet<>();
+        request.getItems().forEach(item -> ids.add(item.getId()));
+        Map<String, ResumeDTO> resumes = resumeService.getByIds(ids, user.getEmail());
+
+        List<PdfBatchExporter.Job> jobs = request.getItems().stream()
+                .map(item -> new PdfBatchExporter.Job(resumes.get(item.getId()),
+                        item.getTemplate() != null ? item.getTemplate() : request.getTemplate()))
+                .toList();
+        PdfBatchExporter.Batch batch = batchExporter.submit(jobs);
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.parseMediaType("application/zip"));
+        headers.setContentDispositionFormData("attachment", "resumes.zip");
+
+        return ResponseEntity.ok()
+                .headers(headers)
+                .body(batch::writeZip);
     }
 
     @GetMapping("/{id}/pdf")
     public ResponseEntity<?> exportPdf(
-            @RequestHeader(value = "Authorization", required = false) String authHeader,
+            @CurrentUser User user,
             @PathVariable String id,
             @RequestParam(required = false) String template) {
-        User user = getAuthenticatedUser(authHeader);
-        if (user == null) {
-            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(Map.of("error", "Unauthorized"));
-        }
-
         byte[] pdf = pdfService.generatePdf(id, template, user.getEmail());
 
         HttpHeaders headers = new HttpHeaders();
@@ -126,12 +232,4 @@ public class ResumeController {
                 .headers(headers)
                 .body(pdf);
     }
-
-    private User getAuthenticatedUser(String authHeader) {
-        if (authHeader != null && authHeader.startsWith("Bearer ")) {
-            String token = authHeader.substring(7);
-            return authService.validateToken(token);
-        }
-        return null;
-    }
 }
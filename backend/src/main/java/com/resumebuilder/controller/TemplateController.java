@@ -2,7 +2,7 @@ package com.resumebuilder.controller;
 
 import com.resumebuilder.dto.ResumeDTO;
 import com.resumebuilder.entity.Template;
-import com.resumebuilder.repository.TemplateRepository;
+import com.resumebuilder.service.ReferenceDataCache;
 import com.resumebuilder.service.SampleDataService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
@@ -18,11 +18,11 @@ import java.util.Map;
 public class TemplateController {
 
     private final SampleDataService sampleDataService;
-    private final TemplateRepository templateRepository;
+    private final ReferenceDataCache referenceData;
 
     @GetMapping
     public ResponseEntity<List<Template>> getAllTemplates() {
-        return ResponseEntity.ok(templateRepository.findAll());
+        return ResponseEntity.ok(referenceData.templates());
     }
 
     @GetMapping("/countries")
@@ -1,13 +1,16 @@
 package com.resumebuilder.controller;
 
 import com.resumebuilder.dto.ResumeDTO;
+import com.resumebuilder.service.AiExecutor;
 import com.resumebuilder.service.ResumeParserService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.io.IOException;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 @RestController
 @RequestMapping("/api/upload")
@@ -15,26 +18,40 @@ import java.util.Map;
 public class UploadController {
 
     private final ResumeParserService parserService;
+    private final AiExecutor aiExecutor;
 
     @PostMapping("/parse")
-    public ResponseEntity<?> parseResume(@RequestParam("file") MultipartFile file) {
+    public CompletableFuture<ResponseEntity<?>> parseResume(@RequestParam("file") MultipartFile file) {
         if (file.isEmpty()) {
-            return ResponseEntity.badRequest().body(Map.of("error", "Please upload a file"));
+            return CompletableFuture.completedFuture(
+                    ResponseEntity.badRequest().body(Map.of("error", "Please upload a file")));
         }
 
         String filename = file.getOriginalFilename();
         if (filename == null || (!filename.toLowerCase().endsWith(".pdf") && 
                                   !filename.toLowerCase().endsWith(".docx") &&
                                   !filename.toLowerCase().endsWith(".doc"))) {
-            return ResponseEntity.badRequest().body(Map.of("error", "Only PDF and DOCX files are supported"));
+            return CompletableFuture.completedFuture(
+                    ResponseEntity.badRequest().body(Map.of("error", "Only PDF and DOCX files are supported")));
         }
 
+        // The multipart temp file doesn't outlive the servlet thread, so read it first
+        byte[] content;
         try {
-            ResumeDTO parsedResume = parserService.parseResume(file);
-            return ResponseEntity.ok(parsedResume);
-        } catch (Exception e) {
-            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+            content = file.getBytes();
+        } catch (IOException e) {
+            return CompletableFuture.completedFuture(
+                    ResponseEntity.badRequest().body(Map.of("error", "Could not read the upload: " + e.getMessage())));
         }
+
+        return aiExecutor.submit(() -> {
+            try {
+                ResumeDTO parsedResume = parserService.parseResume(filename, content);
+                return ResponseEntity.ok(parsedResume);
+            } catch (Exception e) {
+                return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+            }
+        });
     }
 }
 
@@ -1,5 +1,6 @@
 package com.resumebuilder.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.Data;
 import java.util.List;
 import java.util.Map;
@@ -38,6 +39,9 @@ public class AiDTO {
         private String model;
         private List<Message> messages;
         private double temperature = 0.7;
+        // true asks the provider for server-sent delta chunks; omitted otherwise
+        @JsonInclude(JsonInclude.Include.NON_NULL)
+        private Boolean stream;
 
         @Data
         public static class Message {
@@ -26,6 +26,15 @@ public class JobMatchDTO {
         private ResumeDTO tailoredResume;
         private List<String> suggestions;
         private int matchScore; // 0-100
+        private String resumeJobId; // Poll /api/job-match/jobs/{id} for tailoredResume
+    }
+
+    @Data
+    public static class ResumeJob {
+        private String id;
+        private String status; // PENDING, DONE or FAILED
+        private ResumeDTO tailoredResume;
+        private String error;
     }
 }
 
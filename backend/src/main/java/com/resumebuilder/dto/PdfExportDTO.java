@@ -0,0 +1,26 @@
+package com.resumebuilder.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import lombok.Data;
+import java.util.List;
+
+public class PdfExportDTO {
+
+    @Data
+    public static class BatchRequest {
+        @NotEmpty(message = "At least one resume is required")
+        @Valid
+        private List<Item> items;
+        // Used for items that do not name a template; falls back to each resume's own
+        private String template;
+    }
+
+    @Data
+    public static class Item {
+        @NotBlank(message = "Resume id is required")
+        private String id;
+        private String template;
+    }
+}
@@ -30,6 +30,9 @@ public class ResumeDTO {
 
     private String template;
 
+    // Version the client last read; stale versions are rejected with 409
+    private Long version;
+
     @Data
     public static class Experience {
         private String company;
@@ -0,0 +1,37 @@
+package com.resumebuilder.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public class ResumeListDTO {
+
+    /** What the resume list shows; full documents come from GET /api/resumes/{id}. */
+    @Data
+    public static class Summary {
+        private String id;
+        private String fullName;
+        private String email;
+        private String template;
+        private LocalDateTime updatedAt;
+        // First few skills for the card, plus the total
+        private List<String> topSkills;
+        private int skillCount;
+        private int experienceCount;
+        private int educationCount;
+        private int projectCount;
+        private int certificationCount;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Page {
+        private List<Summary> items;
+        // Pass back as ?cursor= for the next page; null on the last page
+        private String nextCursor;
+    }
+}
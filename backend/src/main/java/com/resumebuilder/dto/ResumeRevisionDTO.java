@@ -0,0 +1,43 @@
+package com.resumebuilder.dto;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public class ResumeRevisionDTO {
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Summary {
+        private int revision;
+        private LocalDateTime createdAt;
+        // Whether the revision is stored whole or as a delta, and its stored size in bytes
+        private boolean snapshot;
+        private int size;
+    }
+
+    /** A changed value, addressed like a JSON pointer, e.g. "/experience/0/description". */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Change {
+        private String path;
+        // Null when the value was added or removed
+        private JsonNode from;
+        private JsonNode to;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Diff {
+        private int from;
+        private int to;
+        private List<Change> changes;
+    }
+}
@@ -1,16 +1,24 @@
 package com.resumebuilder.entity;
 
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import jakarta.persistence.*;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import lombok.AllArgsConstructor;
+import org.hibernate.annotations.DynamicUpdate;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
 import java.time.LocalDateTime;
+import java.util.List;
 
 @Entity
-@Table(name = "resumes")
+@Table(name = "resumes", indexes = {
+        @Index(name = "idx_resumes_user_updated", columnList = "userId, updatedAt DESC, id DESC")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
+@DynamicUpdate
 public class Resume {
 
     @Id
@@ -33,35 +41,134 @@ public class Resume {
     @Column(length = 1000)
     private String summary;
 
-    @Column(columnDefinition = "TEXT")
-    private String experience; // JSON string
+    // Sections are typed JSONB columns, (de)serialized by Hibernate
+    @JdbcTypeCode(SqlTypes.JSON)
+    @Column(columnDefinition = "jsonb")
+    private List<Experience> experience;
 
-    @Column(columnDefinition = "TEXT")
-    private String education; // JSON string
+    @JdbcTypeCode(SqlTypes.JSON)
+    @Column(columnDefinition = "jsonb")
+    private List<Education> education;
 
-    @Column(columnDefinition = "TEXT")
-    private String skills; // JSON string
+    @JdbcTypeCode(SqlTypes.JSON)
+    @Column(columnDefinition = "jsonb")
+    private List<String> skills;
 
-    @Column(columnDefinition = "TEXT")
-    private String projects; // JSON string
+    @JdbcTypeCode(SqlTypes.JSON)
+    @Column(columnDefinition = "jsonb")
+    private List<Project> projects;
 
-    @Column(columnDefinition = "TEXT")
-    private String certifications; // JSON string
+    @JdbcTypeCode(SqlTypes.JSON)
+    @Column(columnDefinition = "jsonb")
+    private List<String> certifications;
+
+    // Copied from the sections on every save, so the resume list reads these and never the jsonb columns
+    private Integer skillCount;
+    private Integer experienceCount;
+    private Integer educationCount;
+    private Integer projectCount;
+    private Integer certificationCount;
+
+    @Column(columnDefinition = "text")
+    private String topSkill1;
+
+    @Column(columnDefinition = "text")
+    private String topSkill2;
+
+    @Column(columnDefinition = "text")
+    private String topSkill3;
 
     private String template = "modern";
 
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
 
+    // Optimistic locking; clients send back the version they last read
+    @Version
+    private Long version;
+
     @PrePersist
     protected void onCreate() {
         createdAt = LocalDateTime.now();
         updatedAt = LocalDateTime.now();
+        summarizeSections();
     }
 
     @PreUpdate
     protected void onUpdate() {
         updatedAt = LocalDateTime.now();
+        summarizeSections();
+    }
+
+    private void summarizeSections() {
+        skillCount = size(skills);
+        experienceCount = size(experience);
+        educationCount = size(education);
+        projectCount = size(projects);
+        certificationCount = size(certifications);
+        topSkill1 = skillCount > 0 ? skills.get(0) : null;
+        topSkill2 = skillCount > 1 ? skills.get(1) : null;
+        topSkill3 = skillCount > 2 ? skills.get(2) : null;
+    }
+
+    private static int size(List<?> section) {
+        return section == null ? 0 : section.size();
+    }
+
+    /*
+     * Stored shape of the section entries. Kept apart from the API DTOs, so a
+     * DTO change never silently changes what is persisted; ResumeService maps
+     * between the two. Properties that are no longer declared are ignored on
+     * read, so removing a field doesn't make existing rows unreadable.
+     */
+
+    @Data
+    @NoArgsConstructor
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public static class Experience {
+        private String company;
+        private String position;
+        private String location;
+        private String startDate;
+        private String endDate;
+        private String description;
+        private List<String> highlights;
+        private boolean serviceBased;
+        private List<ClientProject> clientProjects;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public static class ClientProject {
+        private String clientName;
+        private String projectName;
+        private String role;
+        private String startDate;
+        private String endDate;
+        private String description;
+        private List<String> highlights;
     }
-}
 
+    @Data
+    @NoArgsConstructor
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public static class Education {
+        private String institution;
+        private String degree;
+        private String field;
+        private String startDate;
+        private String endDate;
+        private String gpa;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public static class Project {
+        private String name;
+        private String description;
+        private String url;
+        private List<String> technologies;
+    }
+}
@@ -0,0 +1,51 @@
+package com.resumebuilder.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.time.LocalDateTime;
+
+/**
+ * One saved state of a resume. data is gzip'd JSON: the whole document for a
+ * snapshot, otherwise a delta against the previous revision (see
+ * ResumeRevisionService).
+ */
+@Entity
+@Table(name = "resume_revisions", indexes = {
+        @Index(name = "idx_resume_revisions_resume_revision", columnList = "resumeId, revision", unique = true)
+})
+@Data
+@NoArgsConstructor
+public class ResumeRevision {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private String id;
+
+    @Column(nullable = false)
+    private String resumeId;
+
+    @Column(nullable = false)
+    private String userId;
+
+    // 1, 2, 3, ... per resume
+    @Column(nullable = false)
+    private int revision;
+
+    @Column(nullable = false)
+    private boolean snapshot;
+
+    @Column(nullable = false)
+    private byte[] data;
+
+    // Length of data, so listings don't have to load it
+    @Column(nullable = false)
+    private int size;
+
+    private LocalDateTime createdAt;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+    }
+}
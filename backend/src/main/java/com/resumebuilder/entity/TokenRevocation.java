@@ -0,0 +1,25 @@
+package com.resumebuilder.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+import java.time.LocalDateTime;
+
+/**
+ * Signed session tokens of a user issued before revokedBefore are rejected.
+ * One row per user; rows older than the token lifetime are swept.
+ */
+@Entity
+@Table(name = "token_revocations")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TokenRevocation {
+
+    @Id
+    private String userId;
+
+    @Column(nullable = false)
+    private LocalDateTime revokedBefore;
+}
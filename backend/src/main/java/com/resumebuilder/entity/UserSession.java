@@ -7,7 +7,11 @@ import lombok.AllArgsConstructor;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "user_sessions")
+@Table(name = "user_sessions", indexes = {
+        @Index(name = "idx_user_sessions_token", columnList = "token", unique = true),
+        @Index(name = "idx_user_sessions_user_id", columnList = "userId"),
+        @Index(name = "idx_user_sessions_expires_at", columnList = "expiresAt")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -20,7 +24,8 @@ public class UserSession {
     @Column(nullable = false)
     private String userId;
 
-    @Column(unique = true, nullable = false)
+    // Unique via idx_user_sessions_token
+    @Column(nullable = false)
     private String token;
 
     private LocalDateTime expiresAt;
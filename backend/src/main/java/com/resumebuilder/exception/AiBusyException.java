@@ -0,0 +1,18 @@
+package com.resumebuilder.exception;
+
+import lombok.Getter;
+
+/**
+ * Thrown when the AI request pool and its queue are full. Mapped to 503 with
+ * a Retry-After header.
+ */
+@Getter
+public class AiBusyException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public AiBusyException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+}
@@ -0,0 +1,18 @@
+package com.resumebuilder.exception;
+
+import lombok.Getter;
+
+/**
+ * Thrown when the PDF render service keeps rejecting work because its page
+ * pool and queue are full. Mapped to 503 with a Retry-After header.
+ */
+@Getter
+public class RenderBusyException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public RenderBusyException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+}
@@ -2,10 +2,20 @@ package com.resumebuilder.repository;
 
 import com.resumebuilder.entity.AiProviderConfig;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.transaction.annotation.Transactional;
+
 import java.util.Optional;
 
 public interface AiProviderConfigRepository extends JpaRepository<AiProviderConfig, Long> {
     Optional<AiProviderConfig> findByProviderName(String providerName);
 
     Optional<AiProviderConfig> findByActiveTrue();
+
+    // Key rotation only; saving the whole config would also rewrite its key list
+    @Modifying
+    @Transactional
+    @Query("UPDATE AiProviderConfig c SET c.currentKeyIndex = :index WHERE c.id = :id")
+    int updateCurrentKeyIndex(Long id, int index);
 }
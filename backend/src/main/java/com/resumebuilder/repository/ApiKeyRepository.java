@@ -2,8 +2,12 @@ package com.resumebuilder.repository;
 
 import com.resumebuilder.entity.ApiKey;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -16,4 +20,10 @@ public interface ApiKeyRepository extends JpaRepository<ApiKey, String> {
     
     Optional<ApiKey> findFirstByProviderAndActiveAndConsecutiveErrorsLessThanOrderByPriorityAsc(
             String provider, boolean active, int maxErrors);
+
+    // Records use of a key without loading it
+    @Modifying
+    @Transactional
+    @Query("UPDATE ApiKey k SET k.lastUsed = :at WHERE k.id = :id")
+    int markUsed(String id, LocalDateTime at);
 }
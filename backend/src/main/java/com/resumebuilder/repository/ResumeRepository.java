@@ -2,8 +2,11 @@ package com.resumebuilder.repository;
 
 import com.resumebuilder.entity.Resume;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -16,6 +19,53 @@ public interface ResumeRepository extends JpaRepository<Resume, String> {
     
     // Find resume by id and user (for security)
     Optional<Resume> findByIdAndUserId(String id, String userId);
+
+    // Stored version only, for checking autosave patches without loading the row
+    @Query("SELECT r.version FROM Resume r WHERE r.id = :id AND r.userId = :userId")
+    Optional<Long> findVersion(String id, String userId);
+    
+    // Load several of a user's resumes in one query (batch export)
+    List<Resume> findByIdInAndUserId(Collection<String> ids, String userId);
+    
+    // Resumes whose skills JSONB array contains the skill, ignoring case
+    @Query(value = "SELECT * FROM resumes r WHERE r.user_id = :userId AND EXISTS "
+            + "(SELECT 1 FROM jsonb_array_elements_text(r.skills) s WHERE lower(s) = lower(:skill)) "
+            + "ORDER BY r.updated_at DESC", nativeQuery = true)
+    List<Resume> findByUserIdAndSkill(String userId, String skill);
+    
+    // List view: scalar columns only (section sizes and top skills are kept by Resume), newest first, keyset-paginated
+    String SUMMARY_COLUMNS = "SELECT r.id AS id, r.full_name AS fullName, r.email AS email, "
+            + "r.template AS template, r.updated_at AS updatedAt, "
+            + "r.top_skill1 AS skill1, r.top_skill2 AS skill2, r.top_skill3 AS skill3, "
+            + "COALESCE(r.skill_count, 0) AS skillCount, "
+            + "COALESCE(r.experience_count, 0) AS experienceCount, "
+            + "COALESCE(r.education_count, 0) AS educationCount, "
+            + "COALESCE(r.project_count, 0) AS projectCount, "
+            + "COALESCE(r.certification_count, 0) AS certificationCount "
+            + "FROM resumes r WHERE r.user_id = :userId ";
+
+    @Query(value = SUMMARY_COLUMNS + "ORDER BY r.updated_at DESC, r.id DESC LIMIT :limit", nativeQuery = true)
+    List<SummaryView> findSummaries(String userId, int limit);
+
+    @Query(value = SUMMARY_COLUMNS + "AND (r.updated_at, r.id) < (:updatedAt, :id) "
+            + "ORDER BY r.updated_at DESC, r.id DESC LIMIT :limit", nativeQuery = true)
+    List<SummaryView> findSummariesAfter(String userId, LocalDateTime updatedAt, String id, int limit);
+
+    interface SummaryView {
+        String getId();
+        String getFullName();
+        String getEmail();
+        String getTemplate();
+        LocalDateTime getUpdatedAt();
+        String getSkill1();
+        String getSkill2();
+        String getSkill3();
+        int getSkillCount();
+        int getExperienceCount();
+        int getEducationCount();
+        int getProjectCount();
+        int getCertificationCount();
+    }
     
     // Check if resume belongs to user
     boolean existsByIdAndUserId(String id, String userId);
@@ -0,0 +1,47 @@
+package com.resumebuilder.repository;
+
+import com.resumebuilder.entity.ResumeRevision;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface ResumeRevisionRepository extends JpaRepository<ResumeRevision, String> {
+
+    // Revision metadata only; data is not loaded
+    List<RevisionView> findByResumeIdAndUserIdOrderByRevisionDesc(String resumeId, String userId);
+
+    Optional<ResumeRevision> findTopByResumeIdOrderByRevisionDesc(String resumeId);
+
+    // Latest snapshot at or before a revision: where reconstruction starts
+    Optional<ResumeRevision> findTopByResumeIdAndSnapshotTrueAndRevisionLessThanEqualOrderByRevisionDesc(
+            String resumeId, int revision);
+
+    List<ResumeRevision> findByResumeIdAndRevisionBetweenOrderByRevision(String resumeId, int from, int to);
+
+    @Query("SELECT r.revision FROM ResumeRevision r WHERE r.resumeId = :resumeId AND r.snapshot = true ORDER BY r.revision DESC")
+    List<Integer> findSnapshotRevisions(String resumeId);
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM ResumeRevision r WHERE r.resumeId = :resumeId AND r.revision < :revision")
+    int deleteBefore(String resumeId, int revision);
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM ResumeRevision r WHERE r.resumeId = :resumeId")
+    int deleteByResume(String resumeId);
+
+    interface RevisionView {
+        int getRevision();
+        boolean isSnapshot();
+        int getSize();
+        LocalDateTime getCreatedAt();
+    }
+}
@@ -2,13 +2,24 @@ package com.resumebuilder.repository;
 
 import com.resumebuilder.entity.UserSession;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.Optional;
 
 @Repository
 public interface UserSessionRepository extends JpaRepository<UserSession, String> {
     Optional<UserSession> findByToken(String token);
     void deleteByUserId(String userId);
+
+    // Bounded so a large backlog never holds one long lock on the table
+    @Modifying
+    @Transactional
+    @Query(value = "DELETE FROM user_sessions WHERE id IN "
+            + "(SELECT id FROM user_sessions WHERE expires_at < :cutoff LIMIT :limit)", nativeQuery = true)
+    int deleteExpiredBatch(LocalDateTime cutoff, int limit);
 }
 
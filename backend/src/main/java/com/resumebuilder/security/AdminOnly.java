@@ -0,0 +1,15 @@
+package com.resumebuilder.security;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Rejects requests from anyone but an admin with 403. Applies to every handler
+ * of an annotated controller, or to a single handler method.
+ */
+@Target({ElementType.TYPE, ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface AdminOnly {
+}
@@ -0,0 +1,86 @@
+package com.resumebuilder.security;
+
+import com.resumebuilder.entity.User;
+import com.resumebuilder.service.AuthService;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Resolves the bearer token of an API request to a user once, before any
+ * controller runs, and stores it as a request attribute for
+ * {@link CurrentUser} parameters and the {@link RequireAuth}/{@link AdminOnly}
+ * checks. The lookup time is reported in a Server-Timing header ("auth").
+ */
+@Component
+@RequiredArgsConstructor
+public class AuthenticationFilter extends OncePerRequestFilter {
+
+    public static final String USER_ATTRIBUTE = AuthenticationFilter.class.getName() + ".user";
+    public static final String TOKEN_ATTRIBUTE = AuthenticationFilter.class.getName() + ".token";
+
+    private final AuthService authService;
+
+    private final LongAdder lookups = new LongAdder();
+    private final LongAdder authenticated = new LongAdder();
+    private final LongAdder lookupNanos = new LongAdder();
+    private final LongAccumulator maxLookupNanos = new LongAccumulator(Math::max, 0);
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !request.getRequestURI().startsWith("/api/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String token = bearerToken(request);
+        if (token != null) {
+            long start = System.nanoTime();
+            User user = authService.validateToken(token);
+            long elapsed = System.nanoTime() - start;
+
+            lookups.increment();
+            lookupNanos.add(elapsed);
+            maxLookupNanos.accumulate(elapsed);
+            if (user != null) {
+                authenticated.increment();
+                request.setAttribute(USER_ATTRIBUTE, user);
+            }
+            request.setAttribute(TOKEN_ATTRIBUTE, token);
+            response.addHeader("Server-Timing", String.format(Locale.ROOT, "auth;dur=%.2f", elapsed / 1_000_000.0));
+        }
+        chain.doFilter(request, response);
+    }
+
+    public static User currentUser(HttpServletRequest request) {
+        return (User) request.getAttribute(USER_ATTRIBUTE);
+    }
+
+    public Map<String, Object> stats() {
+        long count = lookups.sum();
+        return Map.of(
+                "lookups", count,
+                "authenticated", authenticated.sum(),
+                "avgLookupMs", count == 0 ? 0.0 : lookupNanos.sum() / 1_000_000.0 / count,
+                "maxLookupMs", maxLookupNanos.get() / 1_000_000.0);
+    }
+
+    private static String bearerToken(HttpServletRequest request) {
+        String header = request.getHeader("Authorization");
+        if (header != null && header.startsWith("Bearer ") && header.length() > 7) {
+            return header.substring(7);
+        }
+        return null;
+    }
+}
@@ -0,0 +1,62 @@
+package com.resumebuilder.security;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.resumebuilder.entity.User;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * Enforces {@link RequireAuth} and {@link AdminOnly} on handler methods and
+ * controllers, using the user already resolved by {@link AuthenticationFilter}.
+ */
+@Component
+@RequiredArgsConstructor
+public class AuthorizationInterceptor implements HandlerInterceptor {
+
+    private final ObjectMapper objectMapper;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler)
+            throws IOException {
+        if (!(handler instanceof HandlerMethod method)) {
+            return true;
+        }
+
+        boolean adminOnly = isAnnotated(method, AdminOnly.class);
+        if (!adminOnly && !isAnnotated(method, RequireAuth.class)) {
+            return true;
+        }
+
+        User user = AuthenticationFilter.currentUser(request);
+        if (adminOnly && (user == null || !user.isAdmin())) {
+            reject(response, HttpStatus.FORBIDDEN, "Admin access required");
+            return false;
+        }
+        if (user == null) {
+            reject(response, HttpStatus.UNAUTHORIZED, "Unauthorized");
+            return false;
+        }
+        return true;
+    }
+
+    private static boolean isAnnotated(HandlerMethod method, Class<? extends java.lang.annotation.Annotation> type) {
+        return method.hasMethodAnnotation(type)
+                || AnnotatedElementUtils.hasAnnotation(method.getBeanType(), type);
+    }
+
+    private void reject(HttpServletResponse response, HttpStatus status, String message) throws IOException {
+        response.setStatus(status.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), Map.of("error", message));
+    }
+}
@@ -0,0 +1,16 @@
+package com.resumebuilder.security;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Injects the user resolved by {@link AuthenticationFilter} into a handler
+ * method parameter of type User. The value is null for anonymous requests, so
+ * handlers that need a user should be guarded by {@link RequireAuth}.
+ */
+@Target(ElementType.PARAMETER)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface CurrentUser {
+}
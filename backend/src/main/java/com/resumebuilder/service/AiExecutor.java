@@ -0,0 +1,105 @@
+package com.resumebuilder.service;
+
+import com.resumebuilder.exception.AiBusyException;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Runs AI provider calls off the servlet threads. The calls block for as long
+ * as the provider takes, so they get their own fixed pool with a bounded
+ * queue: a slow provider ties up these threads, not Tomcat's, and resume
+ * CRUD keeps its latency. When pool and queue are full new AI requests fail
+ * fast with 503 instead of piling up.
+ *
+ * Controllers return the future; Spring MVC completes the response
+ * asynchronously (spring.mvc.async.request-timeout bounds the wait).
+ */
+@Component
+public class AiExecutor {
+
+    @Value("${app.ai.executor.threads:8}")
+    private int threads;
+
+    @Value("${app.ai.executor.queue-capacity:32}")
+    private int queueCapacity;
+
+    // Streamed replies hold no thread while waiting, only a connection, so they get a separate limit
+    @Value("${app.ai.executor.max-streams:32}")
+    private int maxStreams;
+
+    private Semaphore streams;
+
+    private ThreadPoolExecutor executor;
+
+    private final AtomicInteger rejected = new AtomicInteger();
+
+    @PostConstruct
+    void init() {
+        streams = new Semaphore(Math.max(1, maxStreams));
+        AtomicInteger threadCount = new AtomicInteger();
+        executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, queueCapacity)), runnable -> {
+                    Thread thread = new Thread(runnable, "ai-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /** Queues the call; throws AiBusyException right away when the pool is saturated. */
+    public <T> CompletableFuture<T> submit(Supplier<T> call) {
+        try {
+            return CompletableFuture.supplyAsync(call, executor);
+        } catch (RejectedExecutionException e) {
+            rejected.incrementAndGet();
+            throw new AiBusyException("Too many AI requests in progress, try again shortly", 5);
+        }
+    }
+
+    /**
+     * Starts a streamed call if a stream slot is free, throwing AiBusyException
+     * otherwise. The slot is released when the stream ends, fails or is
+     * cancelled by the client going away.
+     */
+    public <T> Flux<T> stream(Supplier<Flux<T>> call) {
+        if (!streams.tryAcquire()) {
+            rejected.incrementAndGet();
+            throw new AiBusyException("Too many AI requests in progress, try again shortly", 5);
+        }
+        try {
+            return call.get().doFinally(signal -> streams.release());
+        } catch (RuntimeException e) {
+            streams.release();
+            throw e;
+        }
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("threads", threads);
+        stats.put("active", executor.getActiveCount());
+        stats.put("queued", executor.getQueue().size());
+        stats.put("completed", executor.getCompletedTaskCount());
+        stats.put("streams", maxStreams - streams.availablePermits());
+        stats.put("rejected", rejected.get());
+        return stats;
+    }
+}
@@ -1,5 +1,6 @@
 package com.resumebuilder.service;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.resumebuilder.dto.AiDTO;
 import com.resumebuilder.dto.ResumeDTO;
@@ -8,9 +9,15 @@ import com.resumebuilder.repository.AiProviderConfigRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.stereotype.Service;
 import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 
 import java.util.*;
 import java.util.regex.Matcher;
@@ -21,9 +28,11 @@ import java.util.regex.Pattern;
 @Slf4j
 public class AiService {
 
-    private final WebClient.Builder webClientBuilder;
+    private final WebClient aiWebClient;
     private final ObjectMapper objectMapper;
     private final AiProviderConfigRepository aiProviderConfigRepository;
+    private final ReferenceDataCache referenceData;
+    private final JobDescriptionCache jobDescriptionCache;
 
     @Value("${ai.api.url:}")
     private String defaultAiApiUrl;
@@ -43,7 +52,7 @@ public class AiService {
 
     private EffectiveConfig getEffectiveConfig() {
         EffectiveConfig config = new EffectiveConfig();
-        Optional<AiProviderConfig> dbConfigOpt = aiProviderConfigRepository.findByActiveTrue();
+        Optional<AiProviderConfig> dbConfigOpt = referenceData.activeAiConfig();
 
         if (dbConfigOpt.isPresent()) {
             AiProviderConfig c = dbConfigOpt.get();
@@ -71,8 +80,8 @@ public class AiService {
     private void handleRateLimit(EffectiveConfig config) {
         if (config.dbConfig != null && config.dbConfig.getApiKeys().size() > 1) {
             int nextIndex = (config.dbConfig.getCurrentKeyIndex() + 1) % config.dbConfig.getApiKeys().size();
-            config.dbConfig.setCurrentKeyIndex(nextIndex);
-            aiProviderConfigRepository.save(config.dbConfig);
+            aiProviderConfigRepository.updateCurrentKeyIndex(config.dbConfig.getId(), nextIndex);
+            referenceData.invalidateAiConfig();
             log.info("Rate limit hit. Rotated to key index {} for provider {}", nextIndex,
                     config.dbConfig.getProviderName());
         }
@@ -87,7 +96,11 @@ public class AiService {
 
         if (hasKey) {
             try {
-                return callAiApi(request, config);
+                // Only provider answers are cached; the local fallback below is cheap to recompute
+                AiDTO.ChatResponse response = jobDescriptionCache.get("chat:" + config.model, cacheContext(request),
+                        request.getJobDescription(), AiDTO.ChatResponse.class, () -> callAiApi(request, config));
+                if (response != null)
+                    return response;
             } catch (Exception e) {
                 log.error("AI API call failed, falling back to local processing: {}", e.getMessage());
                 if (e.getMessage().contains("429"))
@@ -109,7 +122,7 @@ public class AiService {
                 new AiDTO.OpenAiRequest.Message("user", prompt)));
 
         try {
-            AiDTO.OpenAiResponse aiResponse = webClientBuilder.build()
+            AiDTO.OpenAiResponse aiResponse = aiWebClient
                     .post()
                     .uri(config.url)
                     .header("Authorization", "Bearer " + config.key)
@@ -136,7 +149,23 @@ public class AiService {
             log.error("AI API Error", e);
         }
 
-        return processLocally(request);
+        return null;
+    }
+
+    // The parts of the prompt besides the job description (see buildPrompt), plus the job title, which
+    // must match exactly: postings from one company share most of their text whatever the role
+    private String cacheContext(AiDTO.ChatRequest request) {
+        String title = jobTitle(request.getJobDescription());
+        if (request.getCurrentResume() == null)
+            return title;
+        return title + "\n" + request.getCurrentResume().getSkills() + "\n" + request.getCurrentResume().getSummary();
+    }
+
+    // Requests carry no separate title; a posting's first non-blank line normally is one
+    private static String jobTitle(String jobDescription) {
+        if (jobDescription == null)
+            return "";
+        return jobDescription.strip().lines().findFirst().orElse("");
     }
 
     private String buildPrompt(AiDTO.ChatRequest request) {
@@ -232,38 +261,9 @@ public class AiService {
         }
 
         try {
-            String resumeJson = objectMapper.writeValueAsString(request.getCurrentResume());
-            String prompt = String.format(
-                    """
-                            You are a professional resume editor assistant.
-                            Current Resume (JSON):
-                            %s
-
-                            User Request:
-                            %s
-
-                            Instructions:
-                            1. Analyze the request. If it requires updating the resume (e.g. adding experience, changing summary), modify the JSON data accordingly.
-                            2. If the user provides specific details (e.g. "Add Google experience"), use them. If they say "Add valid experience", you may generate a placeholder or realistic example.
-                            3. Return your response strictly as a JSON object with this structure:
-                            {
-                              "message": "Your text response to the user",
-                              "suggestedUpdates": { ... The Full Updated Resume JSON ... }
-                            }
-                            4. If no updates are needed, set "suggestedUpdates" to null.
-                            5. Ensure the JSON is valid.
-                            """,
-                    resumeJson, request.getMessage());
-
-            String systemPrompt = "You are a helpful JSON-speaking resume assistant. You ALWAYS reply in valid JSON. Do not use Markdown. Output only the raw JSON string.";
-
-            AiDTO.OpenAiRequest aiRequest = new AiDTO.OpenAiRequest();
-            aiRequest.setModel(config.model);
-            aiRequest.setMessages(List.of(
-                    new AiDTO.OpenAiRequest.Message("system", systemPrompt),
-                    new AiDTO.OpenAiRequest.Message("user", prompt)));
+            AiDTO.OpenAiRequest aiRequest = chatRequest(request, config.model);
 
-            AiDTO.OpenAiResponse aiResponse = webClientBuilder.build()
+            AiDTO.OpenAiResponse aiResponse = aiWebClient
                     .post()
                     .uri(config.url)
                     .header("Authorization", "Bearer " + config.key)
@@ -294,6 +294,121 @@ public class AiService {
         }
     }
 
+    /**
+     * Chat with live output: the reply is requested in streaming mode and
+     * relayed as server-sent events while it arrives.
+     * <ul>
+     * <li>"message" events carry the next piece of the reply text, {"text": "..."}</li>
+     * <li>one "done" event carries the full ChatResponse, as /chat returns it</li>
+     * <li>an "error" event, {"message": "..."}, replaces "done" if the call fails</li>
+     * </ul>
+     */
+    public Flux<ServerSentEvent<Object>> streamChat(AiDTO.ChatRequest request) {
+        EffectiveConfig config = getEffectiveConfig();
+        boolean hasKey = config.key != null && !config.key.trim().isEmpty() && !config.key.equals("your-api-key");
+        if (!hasKey) {
+            AiDTO.ChatResponse resp = new AiDTO.ChatResponse();
+            resp.setMessage("AI API is not configured.");
+            return Flux.just(sse("done", resp));
+        }
+
+        AiDTO.OpenAiRequest aiRequest;
+        try {
+            aiRequest = chatRequest(request, config.model);
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("AI processing failed: " + e.getMessage());
+        }
+        aiRequest.setStream(true);
+
+        ChatStreamParser parser = new ChatStreamParser();
+        StringBuilder content = new StringBuilder();
+        Flux<ServerSentEvent<Object>> text = aiWebClient
+                .post()
+                .uri(config.url)
+                .header("Authorization", "Bearer " + config.key)
+                .header("Content-Type", "application/json")
+                .accept(MediaType.TEXT_EVENT_STREAM)
+                .bodyValue(aiRequest)
+                .retrieve()
+                .bodyToFlux(new ParameterizedTypeReference<ServerSentEvent<String>>() {
+                })
+                .mapNotNull(ServerSentEvent::data)
+                .takeWhile(data -> !data.trim().equals("[DONE]"))
+                .map(this::streamedDelta)
+                .concatMap(delta -> {
+                    content.append(delta);
+                    String message = parser.feed(delta);
+                    return message.isEmpty() ? Flux.empty() : Flux.just(sse("message", Map.of("text", message)));
+                });
+
+        return text
+                .concatWith(Mono.fromSupplier(() -> sse("done", parseAiContent(content.toString()))))
+                .onErrorResume(WebClientResponseException.class, e -> {
+                    log.error("AI API Error: Status {}, Body: {}", e.getStatusCode(), e.getResponseBodyAsString());
+                    ServerSentEvent<Object> error = sse("error",
+                            Map.of("message", "AI Service Error (" + e.getStatusCode() + "): " + e.getResponseBodyAsString()));
+                    if (e.getStatusCode().value() == 429 || e.getStatusCode().value() == 401) {
+                        // Key rotation writes to the database; keep it off the event loop
+                        return Mono.fromRunnable(() -> handleRateLimit(config))
+                                .subscribeOn(Schedulers.boundedElastic())
+                                .thenReturn(error);
+                    }
+                    return Mono.just(error);
+                })
+                .onErrorResume(e -> {
+                    log.error("Error in streamed chat", e);
+                    return Mono.just(sse("error", Map.of("message", "AI processing failed: " + e.getMessage())));
+                });
+    }
+
+    // Text of one streamed chunk: choices[0].delta.content, empty for role-only or unreadable chunks
+    private String streamedDelta(String chunk) {
+        try {
+            return objectMapper.readTree(chunk).path("choices").path(0).path("delta").path("content").asText("");
+        } catch (JsonProcessingException e) {
+            log.debug("Skipping unreadable stream chunk: {}", chunk);
+            return "";
+        }
+    }
+
+    private static ServerSentEvent<Object> sse(String event, Object data) {
+        return ServerSentEvent.builder(data).event(event).build();
+    }
+
+    private AiDTO.OpenAiRequest chatRequest(AiDTO.ChatRequest request, String model) throws JsonProcessingException {
+        String resumeJson = objectMapper.writeValueAsString(request.getCurrentResume());
+        String prompt = String.format(
+                """
+                        You are a professional resume editor assistant.
+                        Current Resume (JSON):
+                        %s
+
+                        User Request:
+                        %s
+
+                        Instructions:
+                        1. Analyze the request. If it requires updating the resume (e.g. adding experience, changing summary), modify the JSON data accordingly.
+                        2. If the user provides specific details (e.g. "Add Google experience"), use them. If they say "Add valid experience", you may generate a placeholder or realistic example.
+                        3. Return your response strictly as a JSON object with this structure:
+                        {
+                          "message": "Your text response to the user",
+                          "suggestedUpdates": { ... The Full Updated Resume JSON ... }
+                        }
+                        4. If no updates are needed, set "suggestedUpdates" to null.
+                        5. Ensure the JSON is valid.
+                        """,
+                resumeJson, request.getMessage());
+
+        String systemPrompt = "You are a helpful JSON-speaking resume assistant. You ALWAYS reply in valid JSON. Do not use Markdown. Output only the raw JSON string.";
+
+        AiDTO.OpenAiRequest aiRequest = new AiDTO.OpenAiRequest();
+        aiRequest.setModel(model);
+        aiRequest.setMessages(List.of(
+                new AiDTO.OpenAiRequest.Message("system", systemPrompt),
+                new AiDTO.OpenAiRequest.Message("user", prompt)));
+        return aiRequest;
+    }
+
     private AiDTO.ChatResponse parseAiContent(String content) {
         AiDTO.ChatResponse response = new AiDTO.ChatResponse();
         try {
@@ -416,7 +531,7 @@ public class AiService {
                     new AiDTO.OpenAiRequest.Message("system", systemPrompt),
                     new AiDTO.OpenAiRequest.Message("user", userPrompt)));
 
-            AiDTO.OpenAiResponse aiResponse = webClientBuilder.build()
+            AiDTO.OpenAiResponse aiResponse = aiWebClient
                     .post()
                     .uri(config.url)
                     .header("Authorization", "Bearer " + config.key)
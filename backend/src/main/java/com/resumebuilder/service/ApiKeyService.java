@@ -18,6 +18,7 @@ import java.util.Optional;
 public class ApiKeyService {
 
     private final ApiKeyRepository repository;
+    private final ReferenceDataCache referenceData;
 
     @Value("${ai.api.key:}")
     private String fallbackApiKey;
@@ -29,13 +30,11 @@ public class ApiKeyService {
      */
     public String getActiveApiKey(String provider) {
         // Try to get from database first
-        Optional<ApiKey> keyOpt = repository.findFirstByProviderAndActiveAndConsecutiveErrorsLessThanOrderByPriorityAsc(
-                provider, true, MAX_CONSECUTIVE_ERRORS);
+        Optional<ApiKey> keyOpt = getActiveKeyEntity(provider);
 
         if (keyOpt.isPresent()) {
             ApiKey key = keyOpt.get();
-            key.setLastUsed(LocalDateTime.now());
-            repository.save(key);
+            repository.markUsed(key.getId(), LocalDateTime.now());
             return key.getApiKey();
         }
 
@@ -48,9 +47,11 @@ public class ApiKeyService {
         throw new RuntimeException("No active API keys available for provider: " + provider);
     }
 
+    /** Highest-priority active key that is not failing; served from ReferenceDataCache. */
     public Optional<ApiKey> getActiveKeyEntity(String provider) {
-        return repository.findFirstByProviderAndActiveAndConsecutiveErrorsLessThanOrderByPriorityAsc(
-                provider, true, MAX_CONSECUTIVE_ERRORS);
+        return referenceData.activeApiKeys(provider).stream()
+                .filter(key -> key.getConsecutiveErrors() < MAX_CONSECUTIVE_ERRORS)
+                .findFirst();
     }
 
     /**
@@ -60,10 +61,15 @@ public class ApiKeyService {
         repository.findFirstByProviderAndActiveAndConsecutiveErrorsLessThanOrderByPriorityAsc(
                 provider, true, MAX_CONSECUTIVE_ERRORS + 1)
                 .ifPresent(key -> {
+                    boolean recovered = key.getConsecutiveErrors() > 0;
                     key.setConsecutiveErrors(0);
                     key.setTokensUsed(key.getTokensUsed() + tokensUsed);
                     key.setLastUsed(LocalDateTime.now());
                     repository.save(key);
+                    // Usage counters don't affect key selection; only a cleared error count does
+                    if (recovered) {
+                        referenceData.invalidateApiKeys();
+                    }
                 });
     }
 
@@ -78,6 +84,7 @@ public class ApiKeyService {
                     key.setLastError(LocalDateTime.now());
                     key.setLastErrorMessage(errorMessage);
                     repository.save(key);
+                    referenceData.invalidateApiKeys();
                     log.warn("API key {} has {} consecutive errors", key.getName(), key.getConsecutiveErrors());
                 });
     }
@@ -92,6 +99,7 @@ public class ApiKeyService {
             key.setLastErrorMessage(null);
             repository.save(key);
         });
+        referenceData.invalidateApiKeys();
     }
 
     // CRUD Operations
@@ -112,6 +120,7 @@ public class ApiKeyService {
         key.setActive(true);
 
         key = repository.save(key);
+        referenceData.invalidateApiKeys();
         log.info("Created API key: {}", key.getName());
         return toDTO(key);
     }
@@ -129,11 +138,13 @@ public class ApiKeyService {
         key.setTokenLimit(request.getTokenLimit());
 
         key = repository.save(key);
+        referenceData.invalidateApiKeys();
         return toDTO(key);
     }
 
     public void deleteKey(String id) {
         repository.deleteById(id);
+        referenceData.invalidateApiKeys();
         log.info("Deleted API key: {}", id);
     }
 
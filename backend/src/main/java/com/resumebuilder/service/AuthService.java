@@ -12,6 +12,7 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.security.SecureRandom;
 import java.time.LocalDateTime;
+import java.time.ZoneId;
 import java.util.UUID;
 
 @Service
@@ -22,6 +23,8 @@ public class AuthService {
     private final UserRepository userRepository;
     private final UserSessionRepository sessionRepository;
     private final EmailService emailService;
+    private final SessionTokenCache tokenCache;
+    private final SignedTokenService signedTokens;
 
     private static final int OTP_LENGTH = 6;
     private static final int OTP_EXPIRY_MINUTES = 10;
@@ -73,6 +76,12 @@ public class AuthService {
         user.setLastLogin(LocalDateTime.now());
         userRepository.save(user);
 
+        // Signed tokens carry the session themselves; nothing to store
+        if (signedTokens.isEnabled()) {
+            log.info("User logged in: {}", normalizedEmail);
+            return new AuthDTO.AuthResponse(signedTokens.issue(user), user.getId(), user.getEmail());
+        }
+
         // Create session
         String token = UUID.randomUUID().toString();
         UserSession session = new UserSession();
@@ -90,26 +99,64 @@ public class AuthService {
             return null;
         }
 
+        if (SignedTokenService.isSigned(token)) {
+            SignedTokenService.Claims claims = signedTokens.verify(token);
+            return claims != null ? claims.user() : null;
+        }
+
+        return tokenCache.get(token, () -> loadPrincipal(token));
+    }
+
+    private SessionTokenCache.Principal loadPrincipal(String token) {
         UserSession session = sessionRepository.findByToken(token).orElse(null);
         if (session == null || session.getExpiresAt().isBefore(LocalDateTime.now())) {
-            return null;
+            return new SessionTokenCache.Principal(null, 0);
         }
 
-        return userRepository.findById(session.getUserId()).orElse(null);
+        User user = userRepository.findById(session.getUserId()).orElse(null);
+        if (user == null) {
+            return new SessionTokenCache.Principal(null, 0);
+        }
+        long expiresAt = session.getExpiresAt().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        return new SessionTokenCache.Principal(detachedCopy(user), expiresAt);
     }
 
-    public boolean isAdmin(String authHeader) {
-        if (authHeader == null || !authHeader.startsWith("Bearer ")) {
-            return false;
-        }
-        User user = validateToken(authHeader.substring(7));
-        return user != null && user.isAdmin();
+    // Cached users outlive the request, so keep them off the persistence context and drop the OTP
+    private static User detachedCopy(User user) {
+        User copy = new User();
+        copy.setId(user.getId());
+        copy.setEmail(user.getEmail());
+        copy.setAdmin(user.isAdmin());
+        copy.setLastLogin(user.getLastLogin());
+        copy.setCreatedAt(user.getCreatedAt());
+        return copy;
+    }
+
+    /**
+     * Drops cached sessions of a user after it was changed or deleted. Signed
+     * tokens carry the old email and admin flag, so they are revoked.
+     */
+    public void invalidateUser(String userId) {
+        tokenCache.invalidateUser(userId);
+        signedTokens.revokeAll(userId);
     }
 
     @Transactional
     public void logout(String token) {
+        if (SignedTokenService.isSigned(token)) {
+            SignedTokenService.Claims claims = signedTokens.verify(token);
+            if (claims != null) {
+                signedTokens.revokeAll(claims.user().getId());
+                sessionRepository.deleteByUserId(claims.user().getId());
+                tokenCache.invalidateUser(claims.user().getId());
+            }
+            return;
+        }
+
+        tokenCache.invalidateToken(token);
         sessionRepository.findByToken(token).ifPresent(session -> {
             sessionRepository.deleteByUserId(session.getUserId());
+            tokenCache.invalidateUser(session.getUserId());
         });
     }
 
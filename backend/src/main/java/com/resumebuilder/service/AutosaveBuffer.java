@@ -0,0 +1,162 @@
+package com.resumebuilder.service;
+
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+
+/**
+ * Pending autosave patches by resume id. Successive patches to one resume are
+ * merged field by field (later values win), so a burst of edits becomes a
+ * single write. An entry is due once no patch arrived for quiet-ms, or
+ * max-delay-ms after its first patch, whichever comes first.
+ *
+ * An entry that could not be written (typically because another save moved
+ * the resume past its baseVersion) leaves a conflict marker, so the next
+ * autosave or load of that resume is told about the lost edits (409) instead
+ * of carrying on as if they were saved.
+ *
+ * Only holds state; ResumeService applies, flushes and drains it.
+ */
+@Component
+public class AutosaveBuffer {
+
+    @Value("${app.autosave.buffer.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.autosave.buffer.quiet-ms:1500}")
+    private long quietMillis;
+
+    @Value("${app.autosave.buffer.max-delay-ms:10000}")
+    private long maxDelayMillis;
+
+    @Value("${app.autosave.buffer.max-entries:1000}")
+    private int maxEntries;
+
+    // Markers of resumes nobody opens again are dropped after this long
+    @Value("${app.autosave.buffer.conflict-ttl-ms:86400000}")
+    private long conflictTtlMillis;
+
+    /**
+     * Merged patch of one resume. baseVersion is the stored version the patch
+     * applies to; the flush writes it as baseVersion + 1.
+     */
+    public record Pending(String resumeId, String userId, long baseVersion, ObjectNode patch,
+            long firstAt, long lastAt, int merged) {
+    }
+
+    private record Conflict(String userId, long at) {
+    }
+
+    private final Map<String, Pending> pending = new HashMap<>();
+    private final Map<String, Conflict> conflicts = new HashMap<>();
+
+    private long patches;
+    private long flushes;
+    private long conflicted;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public synchronized Pending get(String resumeId) {
+        return pending.get(resumeId);
+    }
+
+    /**
+     * Adds a patch, merging it into the pending entry if there is one.
+     * Returns false when the buffer is full and the caller should write
+     * directly.
+     */
+    public synchronized boolean add(String resumeId, String userId, long baseVersion, ObjectNode patch) {
+        long now = System.currentTimeMillis();
+        Pending existing = pending.get(resumeId);
+        if (existing == null) {
+            if (pending.size() >= maxEntries) {
+                return false;
+            }
+            pending.put(resumeId, new Pending(resumeId, userId, baseVersion, patch.deepCopy(), now, now, 1));
+        } else {
+            existing.patch().setAll(patch);
+            pending.put(resumeId, new Pending(resumeId, userId, existing.baseVersion(), existing.patch(),
+                    existing.firstAt(), now, existing.merged() + 1));
+        }
+        patches++;
+        return true;
+    }
+
+    /** Removes and returns the entry of one resume, or null. */
+    public synchronized Pending take(String resumeId) {
+        Pending entry = pending.remove(resumeId);
+        if (entry != null) {
+            flushes++;
+        }
+        return entry;
+    }
+
+    /** Ids of the pending resumes whose entry matches. */
+    public synchronized List<String> resumeIds(Predicate<Pending> condition) {
+        return pending.values().stream().filter(condition).map(Pending::resumeId).toList();
+    }
+
+    /** Removes and returns the entries that match. */
+    public synchronized List<Pending> takeIf(Predicate<Pending> condition) {
+        List<Pending> taken = new ArrayList<>();
+        Iterator<Pending> entries = pending.values().iterator();
+        while (entries.hasNext()) {
+            Pending entry = entries.next();
+            if (condition.test(entry)) {
+                taken.add(entry);
+                entries.remove();
+            }
+        }
+        flushes += taken.size();
+        return taken;
+    }
+
+    public boolean isDue(Pending entry) {
+        long now = System.currentTimeMillis();
+        return now - entry.lastAt() >= quietMillis || now - entry.firstAt() >= maxDelayMillis;
+    }
+
+    /** Records that the entry could not be written. */
+    public synchronized void markConflict(Pending entry) {
+        long now = System.currentTimeMillis();
+        conflicts.values().removeIf(conflict -> now - conflict.at() >= conflictTtlMillis);
+        conflicts.put(entry.resumeId(), new Conflict(entry.userId(), now));
+        conflicted++;
+    }
+
+    /** Removes the conflict marker of the user's resume; true if there was one. */
+    public synchronized boolean takeConflict(String resumeId, String userId) {
+        Conflict conflict = conflicts.get(resumeId);
+        if (conflict == null || !conflict.userId().equals(userId)) {
+            return false;
+        }
+        conflicts.remove(resumeId);
+        return true;
+    }
+
+    /** Forgets everything about a resume, for when it is deleted. */
+    public synchronized void discard(String resumeId) {
+        pending.remove(resumeId);
+        conflicts.remove(resumeId);
+    }
+
+    public synchronized Map<String, Object> stats() {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("enabled", enabled);
+        stats.put("pending", pending.size());
+        stats.put("patches", patches);
+        stats.put("flushes", flushes);
+        stats.put("conflicts", conflicts.size());
+        stats.put("conflicted", conflicted);
+        return stats;
+    }
+}
@@ -0,0 +1,128 @@
+package com.resumebuilder.service;
+
+/**
+ * Pulls the "message" text out of a streamed chat reply while it is still
+ * arriving. The model answers with a JSON envelope,
+ * {"message": "...", "suggestedUpdates": {...}}, delivered a few characters
+ * at a time; feed() scans each chunk and returns whatever new message text
+ * it completed, decoded from JSON string escapes. Everything else (code
+ * fences, other fields, nested objects) is skipped. The whole envelope is
+ * parsed normally once the stream ends.
+ */
+class ChatStreamParser {
+
+    private enum StringKind { NONE, KEY, MESSAGE, OTHER }
+
+    private final StringBuilder buffer = new StringBuilder();
+    private final StringBuilder key = new StringBuilder();
+    private int pos;
+    private int depth;
+    private boolean expectingKey;
+    private boolean afterColon;
+    private String lastKey;
+    private StringKind string = StringKind.NONE;
+    private boolean messageDone;
+
+    /** Adds a chunk of the reply and returns the message text it completed, possibly empty. */
+    String feed(String chunk) {
+        if (messageDone) {
+            return "";
+        }
+        buffer.append(chunk);
+        StringBuilder text = new StringBuilder();
+        while (pos < buffer.length() && !messageDone) {
+            char c = buffer.charAt(pos);
+            if (string != StringKind.NONE) {
+                if (c == '\\') {
+                    // Escapes are decoded whole; wait for the rest if the chunk split one
+                    if (pos + 1 >= buffer.length()) {
+                        break;
+                    }
+                    char escape = buffer.charAt(pos + 1);
+                    if (escape == 'u') {
+                        if (pos + 6 > buffer.length()) {
+                            break;
+                        }
+                        append(text, unicode(buffer.substring(pos + 2, pos + 6)));
+                        pos += 6;
+                    } else {
+                        append(text, switch (escape) {
+                            case 'n' -> '\n';
+                            case 't' -> '\t';
+                            case 'r' -> '\r';
+                            case 'b' -> '\b';
+                            case 'f' -> '\f';
+                            default -> escape;
+                        });
+                        pos += 2;
+                    }
+                    continue;
+                }
+                if (c == '"') {
+                    endString();
+                } else {
+                    append(text, c);
+                }
+                pos++;
+                continue;
+            }
+
+            switch (c) {
+                case '"' -> startString();
+                case '{', '[' -> {
+                    depth++;
+                    expectingKey = c == '{' && depth == 1;
+                    afterColon = false;
+                }
+                case '}', ']' -> depth--;
+                case ',' -> expectingKey = depth == 1;
+                case ':' -> afterColon = depth == 1;
+                default -> {
+                    if (!Character.isWhitespace(c)) {
+                        afterColon = false;
+                    }
+                }
+            }
+            pos++;
+        }
+        return text.toString();
+    }
+
+    private void startString() {
+        if (depth == 1 && expectingKey) {
+            string = StringKind.KEY;
+            key.setLength(0);
+        } else if (depth == 1 && afterColon && "message".equals(lastKey)) {
+            string = StringKind.MESSAGE;
+        } else {
+            string = StringKind.OTHER;
+        }
+        afterColon = false;
+    }
+
+    private void endString() {
+        if (string == StringKind.KEY) {
+            lastKey = key.toString();
+            expectingKey = false;
+        } else if (string == StringKind.MESSAGE) {
+            messageDone = true;
+        }
+        string = StringKind.NONE;
+    }
+
+    private void append(StringBuilder text, char c) {
+        if (string == StringKind.KEY) {
+            key.append(c);
+        } else if (string == StringKind.MESSAGE) {
+            text.append(c);
+        }
+    }
+
+    private static char unicode(String hex) {
+        try {
+            return (char) Integer.parseInt(hex, 16);
+        } catch (NumberFormatException e) {
+            return '\uFFFD';
+        }
+    }
+}
@@ -0,0 +1,295 @@
+package com.resumebuilder.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Supplier;
+
+/**
+ * Cache of AI results for job descriptions, since many users paste the same
+ * popular postings. A job description is normalized (case, whitespace and
+ * punctuation ignored, except the + # and . that are part of names such as
+ * C++, C# or .NET) and hashed, so trivially different copies share an entry.
+ * Optionally, copies that differ a little more (a tracking line, a reworded
+ * sentence) are found through a MinHash signature over word shingles: an
+ * entry whose estimated similarity reaches near-duplicate-similarity is
+ * served as well. Postings that share most of their text but name a different
+ * stack easily estimate above 0.95, so the default (1.0) serves exact matches
+ * only.
+ *
+ * Entries are scoped by a namespace and a context string (whatever else went
+ * into the prompt, e.g. title and company), which must match after the same
+ * normalization.
+ * Values are stored as JSON and every hit returns a fresh copy, so callers
+ * may modify what they get.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class JobDescriptionCache {
+
+    private static final int SHINGLE_WORDS = 5;
+    private static final int HASHES = 64;
+    private static final int BANDS = 16;
+    private static final int ROWS = HASHES / BANDS;
+
+    // Fixed seeds, so signatures stay comparable for the lifetime of the process
+    private static final long[] SEEDS = new long[HASHES];
+
+    static {
+        long seed = 0x9E3779B97F4A7C15L;
+        for (int i = 0; i < HASHES; i++) {
+            seed = mix(seed + i);
+            SEEDS[i] = seed;
+        }
+    }
+
+    private final ObjectMapper objectMapper;
+
+    @Value("${app.ai.jd-cache.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.ai.jd-cache.max-entries:500}")
+    private int maxEntries;
+
+    @Value("${app.ai.jd-cache.ttl-minutes:720}")
+    private long ttlMinutes;
+
+    // 1.0 disables near-duplicate lookups
+    @Value("${app.ai.jd-cache.near-duplicate-similarity:1.0}")
+    private double nearDuplicateSimilarity;
+
+    private record Entry(String scope, long[] signature, JsonNode value, long expiresAt) {
+    }
+
+    // Access-ordered so the eldest entry is the least recently used
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(64, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+            if (size() > maxEntries) {
+                unindex(eldest.getKey(), eldest.getValue());
+                return true;
+            }
+            return false;
+        }
+    };
+
+    // LSH buckets: scope + band + band hash -> keys, for near-duplicate candidates
+    private final Map<String, Set<String>> bands = new HashMap<>();
+
+    private long hits;
+    private long nearHits;
+    private long misses;
+
+    /**
+     * Returns the cached value for the job description, or computes it with
+     * the loader and caches it. A loader returning null is not cached.
+     */
+    public <T> T get(String namespace, String context, String jobDescription, Class<T> type, Supplier<T> loader) {
+        if (!enabled || jobDescription == null || jobDescription.isBlank()) {
+            return loader.get();
+        }
+
+        String scope = namespace + "\n" + normalize(context);
+        String normalized = normalize(jobDescription);
+        String key = sha256(scope + "\n" + normalized);
+        long[] signature = signature(normalized);
+
+        JsonNode cached = lookup(scope, key, signature);
+        if (cached != null) {
+            try {
+                return objectMapper.treeToValue(cached, type);
+            } catch (JsonProcessingException e) {
+                log.warn("Dropping unreadable job description cache entry: {}", e.getMessage());
+            }
+        }
+
+        T value = loader.get();
+        if (value != null) {
+            put(scope, key, signature, objectMapper.valueToTree(value));
+        }
+        return value;
+    }
+
+    public synchronized Map<String, Object> stats() {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("enabled", enabled);
+        stats.put("entries", entries.size());
+        stats.put("hits", hits);
+        stats.put("nearHits", nearHits);
+        stats.put("misses", misses);
+        return stats;
+    }
+
+    public synchronized void clear() {
+        entries.clear();
+        bands.clear();
+    }
+
+    private synchronized JsonNode lookup(String scope, String key, long[] signature) {
+        long now = System.currentTimeMillis();
+        Entry exact = entries.get(key);
+        if (exact != null && exact.expiresAt() > now) {
+            hits++;
+            return exact.value();
+        }
+        if (!nearDuplicates()) {
+            misses++;
+            return null;
+        }
+
+        Set<String> candidates = new HashSet<>();
+        for (int band = 0; band < BANDS; band++) {
+            candidates.addAll(bands.getOrDefault(bandKey(scope, signature, band), Set.of()));
+        }
+        for (String candidate : candidates) {
+            Entry entry = entries.get(candidate);
+            if (entry != null && entry.expiresAt() > now && similarity(signature, entry.signature()) >= nearDuplicateSimilarity) {
+                nearHits++;
+                return entry.value();
+            }
+        }
+        misses++;
+        return null;
+    }
+
+    private synchronized void put(String scope, String key, long[] signature, JsonNode value) {
+        Entry previous = entries.remove(key);
+        if (previous != null) {
+            unindex(key, previous);
+        }
+        entries.put(key, new Entry(scope, signature, value,
+                System.currentTimeMillis() + ttlMinutes * 60_000));
+        if (!nearDuplicates()) {
+            return;
+        }
+        for (int band = 0; band < BANDS; band++) {
+            bands.computeIfAbsent(bandKey(scope, signature, band), k -> new HashSet<>()).add(key);
+        }
+    }
+
+    private boolean nearDuplicates() {
+        return nearDuplicateSimilarity < 1.0;
+    }
+
+    private void unindex(String key, Entry entry) {
+        for (int band = 0; band < BANDS; band++) {
+            String bandKey = bandKey(entry.scope(), entry.signature(), band);
+            Set<String> keys = bands.get(bandKey);
+            if (keys != null) {
+                keys.remove(key);
+                if (keys.isEmpty()) {
+                    bands.remove(bandKey);
+                }
+            }
+        }
+    }
+
+    static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        StringBuilder normalized = new StringBuilder();
+        for (String word : text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}+#.]+")) {
+            String token = token(word);
+            if (!token.isEmpty()) {
+                if (normalized.length() > 0) {
+                    normalized.append(' ');
+                }
+                normalized.append(token);
+            }
+        }
+        return normalized.toString();
+    }
+
+    // Keeps the symbols that tell technologies apart (c++, c#, .net, node.js) and drops sentence punctuation around words
+    private static String token(String word) {
+        int start = 0;
+        int end = word.length();
+        while (end > start && word.charAt(end - 1) == '.') {
+            end--;
+        }
+        while (start < end && !Character.isLetterOrDigit(word.charAt(start))) {
+            start++;
+        }
+        if (start == end) {
+            return "";
+        }
+        if (start == 1 && word.charAt(0) == '.') {
+            start--;
+        }
+        return word.substring(start, end);
+    }
+
+    // MinHash over word shingles; two signatures agree in a share of positions close to the texts' Jaccard similarity
+    static long[] signature(String normalized) {
+        long[] signature = new long[HASHES];
+        Arrays.fill(signature, Long.MAX_VALUE);
+        String[] words = normalized.isEmpty() ? new String[0] : normalized.split(" ");
+        int shingles = Math.max(1, words.length - SHINGLE_WORDS + 1);
+        for (int i = 0; i < shingles; i++) {
+            StringBuilder shingle = new StringBuilder();
+            for (int j = i; j < Math.min(words.length, i + SHINGLE_WORDS); j++) {
+                shingle.append(words[j]).append(' ');
+            }
+            long base = shingle.toString().hashCode();
+            for (int h = 0; h < HASHES; h++) {
+                long value = mix(base ^ SEEDS[h]);
+                if (value < signature[h]) {
+                    signature[h] = value;
+                }
+            }
+        }
+        return signature;
+    }
+
+    static double similarity(long[] a, long[] b) {
+        int same = 0;
+        for (int i = 0; i < HASHES; i++) {
+            if (a[i] == b[i]) {
+                same++;
+            }
+        }
+        return (double) same / HASHES;
+    }
+
+    private static String bandKey(String scope, long[] signature, int band) {
+        long hash = band;
+        for (int i = band * ROWS; i < (band + 1) * ROWS; i++) {
+            hash = mix(hash ^ signature[i]);
+        }
+        return scope + "\n" + band + ":" + hash;
+    }
+
+    // SplitMix64 finalizer
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    private static String sha256(String text) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(text.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -18,6 +18,8 @@ public class JobMatchService {
 
     private final WebClient webClient;
     private final ObjectMapper objectMapper;
+    private final JobDescriptionCache jobDescriptionCache;
+    private final TailoredResumeJobs resumeJobs;
 
     @Value("${ai.api.url}")
     private String aiApiUrl;
@@ -28,44 +30,79 @@ public class JobMatchService {
     @Value("${ai.api.model}")
     private String aiModel;
 
-    public JobMatchService(WebClient.Builder webClientBuilder, ObjectMapper objectMapper) {
-        this.webClient = webClientBuilder
-            .codecs(configurer -> configurer.defaultCodecs().maxInMemorySize(10 * 1024 * 1024))
-            .build();
+    public JobMatchService(WebClient aiWebClient, ObjectMapper objectMapper, JobDescriptionCache jobDescriptionCache,
+                           TailoredResumeJobs resumeJobs) {
+        this.webClient = aiWebClient;
         this.objectMapper = objectMapper;
+        this.jobDescriptionCache = jobDescriptionCache;
+        this.resumeJobs = resumeJobs;
     }
 
-    public JobMatchDTO.JobAnalysisResponse analyzeAndCreateResume(JobMatchDTO.JobAnalysisRequest request) {
+    /**
+     * Analyzes the job description and returns right away with the analysis
+     * and match score. The tailored resume needs the analysis as input, so it
+     * is generated afterwards as a background job; the response carries its
+     * id (resumeJobId) for TailoredResumeJobs.
+     */
+    public JobMatchDTO.JobAnalysisResponse analyzeJob(JobMatchDTO.JobAnalysisRequest request) {
         log.info("Analyzing job description for: {}", request.getJobTitle());
         
+        JobMatchDTO.JobAnalysisResponse response;
         try {
-            // Step 1: Analyze the job description
-            String analysisPrompt = buildAnalysisPrompt(request);
-            String analysisResult = callAI(analysisPrompt);
-            
-            // Step 2: Parse the analysis
-            JobMatchDTO.JobAnalysisResponse response = parseAnalysisResponse(analysisResult);
-            
-            // Step 3: Create tailored resume
-            String resumePrompt = buildResumePrompt(request, response);
-            String resumeResult = callAI(resumePrompt);
-            
-            // Step 4: Parse the tailored resume
-            ResumeDTO tailoredResume = parseResumeResponse(resumeResult);
-            response.setTailoredResume(tailoredResume);
-            
-            // Step 5: Calculate match score if existing resume provided
-            if (request.getExistingResume() != null) {
-                int matchScore = calculateMatchScore(request.getExistingResume(), response.getRequiredSkills());
-                response.setMatchScore(matchScore);
-            }
-            
-            return response;
-            
+            // Steps 1-2: Analyze the job description and parse the analysis
+            response = jobDescriptionCache.get("job-analysis:" + aiModel, jobContext(request),
+                    request.getJobDescription(), JobMatchDTO.JobAnalysisResponse.class, () -> analyze(request));
         } catch (Exception e) {
             log.error("Error analyzing job: {}", e.getMessage(), e);
             throw new RuntimeException("Failed to analyze job description: " + e.getMessage());
         }
+            
+        // Step 3: Calculate match score if existing resume provided
+        if (request.getExistingResume() != null) {
+            int matchScore = calculateMatchScore(request.getExistingResume(), response.getRequiredSkills());
+            response.setMatchScore(matchScore);
+        }
+
+        // Step 4: Create the tailored resume in the background
+        JobMatchDTO.JobAnalysisResponse analysis = response;
+        response.setResumeJobId(resumeJobs.start(() -> createTailoredResume(request, analysis)));
+        return response;
+    }
+
+    /**
+     * Generates the tailored resume for an analysis. Without an existing
+     * resume the result depends only on the posting, so it is cached.
+     */
+    public ResumeDTO createTailoredResume(JobMatchDTO.JobAnalysisRequest request,
+                                          JobMatchDTO.JobAnalysisResponse analysis) {
+        if (request.getExistingResume() == null) {
+            return jobDescriptionCache.get("job-resume:" + aiModel, jobContext(request), request.getJobDescription(),
+                    ResumeDTO.class, () -> generateResume(request, analysis));
+        }
+        return generateResume(request, analysis);
+    }
+
+    private String jobContext(JobMatchDTO.JobAnalysisRequest request) {
+        return request.getJobTitle() + "\n" + request.getCompany();
+    }
+
+    private JobMatchDTO.JobAnalysisResponse analyze(JobMatchDTO.JobAnalysisRequest request) {
+        String analysisResult = callAI(buildAnalysisPrompt(request));
+        try {
+            return parseAnalysisResponse(analysisResult);
+        } catch (Exception e) {
+            throw new RuntimeException("Invalid job analysis: " + e.getMessage());
+        }
+    }
+
+    private ResumeDTO generateResume(JobMatchDTO.JobAnalysisRequest request,
+                                     JobMatchDTO.JobAnalysisResponse analysis) {
+        String resumeResult = callAI(buildResumePrompt(request, analysis));
+        try {
+            return parseResumeResponse(resumeResult);
+        } catch (Exception e) {
+            throw new RuntimeException("Invalid tailored resume: " + e.getMessage());
+        }
     }
 
     private String buildAnalysisPrompt(JobMatchDTO.JobAnalysisRequest request) {
@@ -0,0 +1,164 @@
+package com.resumebuilder.service;
+
+import com.resumebuilder.dto.ResumeDTO;
+import com.resumebuilder.exception.RenderBusyException;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.Deflater;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Renders several resumes in parallel and writes them into a ZIP as each one
+ * finishes. Work runs on a small fixed pool with a bounded queue shared by all
+ * batch requests, so one large export cannot starve the rest of the server.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class PdfBatchExporter {
+
+    private final PdfService pdfService;
+
+    @Value("${app.pdf.batch.threads:2}")
+    private int threads;
+
+    @Value("${app.pdf.batch.queue-capacity:100}")
+    private int queueCapacity;
+
+    @Value("${app.pdf.batch.max-items:25}")
+    private int maxItems;
+
+    private ThreadPoolExecutor executor;
+
+    public record Job(ResumeDTO resume, String template) {
+    }
+
+    private record Rendered(int index, byte[] pdf) {
+    }
+
+    @PostConstruct
+    void init() {
+        AtomicInteger threadCount = new AtomicInteger();
+        executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, queueCapacity)), runnable -> {
+                    Thread thread = new Thread(runnable, "pdf-batch-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    public int getMaxItems() {
+        return maxItems;
+    }
+
+    /**
+     * Queues every render up front, so a saturated pool is reported before the
+     * response is committed. The returned batch writes the ZIP.
+     */
+    public Batch submit(List<Job> jobs) {
+        CompletionService<Rendered> completion = new ExecutorCompletionService<>(executor);
+        List<Future<Rendered>> futures = new ArrayList<>(jobs.size());
+        try {
+            for (int i = 0; i < jobs.size(); i++) {
+                int index = i;
+                Job job = jobs.get(i);
+                futures.add(completion.submit(() ->
+                        new Rendered(index, pdfService.generatePdfDirect(job.resume(), job.template()))));
+            }
+        } catch (RejectedExecutionException e) {
+            futures.forEach(future -> future.cancel(true));
+            throw new RenderBusyException("PDF export queue is full, try again shortly", 5);
+        }
+        return new Batch(completion, futures, entryNames(jobs));
+    }
+
+    private static List<String> entryNames(List<Job> jobs) {
+        List<String> names = new ArrayList<>(jobs.size());
+        Set<String> used = new HashSet<>();
+        for (Job job : jobs) {
+            String person = job.resume().getFullName() != null ? job.resume().getFullName() : job.resume().getId();
+            String template = job.template() != null ? job.template() : job.resume().getTemplate();
+            String base = (person + "-" + template).replaceAll("[^A-Za-z0-9._-]+", "_");
+            String name = base + ".pdf";
+            for (int n = 2; !used.add(name); n++) {
+                name = base + "-" + n + ".pdf";
+            }
+            names.add(name);
+        }
+        return names;
+    }
+
+    public static class Batch {
+
+        private final CompletionService<Rendered> completion;
+        private final List<Future<Rendered>> futures;
+        private final List<String> names;
+
+        private Batch(CompletionService<Rendered> completion, List<Future<Rendered>> futures, List<String> names) {
+            this.completion = completion;
+            this.futures = futures;
+            this.names = names;
+        }
+
+        /**
+         * Writes entries in completion order. A failed render becomes a small
+         * .error.txt entry instead of aborting the whole archive.
+         */
+        public void writeZip(OutputStream out) throws IOException {
+            ZipOutputStream zip = new ZipOutputStream(out);
+            // PDFs are already compressed; don't spend CPU trying again
+            zip.setLevel(Deflater.BEST_SPEED);
+            try {
+                for (int remaining = futures.size(); remaining > 0; remaining--) {
+                    Future<Rendered> done = completion.take();
+                    try {
+                        Rendered rendered = done.get();
+                        zip.putNextEntry(new ZipEntry(names.get(rendered.index())));
+                        zip.write(rendered.pdf());
+                    } catch (ExecutionException e) {
+                        int index = futures.indexOf(done);
+                        log.warn("Batch export of {} failed: {}", names.get(index), e.getCause().getMessage());
+                        zip.putNextEntry(new ZipEntry(names.get(index) + ".error.txt"));
+                        zip.write(String.valueOf(e.getCause().getMessage()).getBytes(StandardCharsets.UTF_8));
+                    }
+                    zip.closeEntry();
+                    zip.flush();
+                }
+                zip.finish();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException("Batch export interrupted", e);
+            } finally {
+                // No-op when everything completed; frees the pool if the client went away
+                futures.forEach(future -> future.cancel(true));
+            }
+        }
+    }
+}
@@ -0,0 +1,184 @@
+package com.resumebuilder.service;
+
+import com.lowagie.text.Element;
+import com.lowagie.text.Font;
+import com.resumebuilder.dto.ResumeDTO;
+
+import java.awt.Color;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Compiled PDF layout: page margins, header, and an ordered list of sections
+ * with their fonts, spacing and separators. Produced once by
+ * {@link PdfLayoutCompiler} and shared by every render, so nothing here may be
+ * mutated - fonts and rule elements are handed straight to OpenPDF.
+ *
+ * @param cacheKey    layout name plus a hash of its description, used to key
+ *                    rendered PDFs so an edited layout never serves stale output
+ * @param dense       variant with smaller fonts used once a resume has more
+ *                    than denseThreshold content items, or null
+ */
+record PdfLayout(
+        String name,
+        String cacheKey,
+        float[] margins,
+        Header header,
+        List<Section> sections,
+        int denseThreshold,
+        PdfLayout dense) {
+
+    PdfLayout forContentItems(int contentItems) {
+        return dense != null && contentItems > denseThreshold ? dense : this;
+    }
+
+    enum SectionType {
+        SUMMARY, SKILLS, EXPERIENCE, EDUCATION, PROJECTS, CERTIFICATIONS
+    }
+
+    /** A horizontal rule, either an inline Chunk or a bare LineSeparator. */
+    record Rule(Element element, boolean newline) {
+    }
+
+    record Header(Banner banner, Font nameFont, boolean upperCaseName, int nameAlign,
+            float nameSpacingAfter, List<ContactLine> contactLines, Rule rule, boolean newlineAfter) {
+    }
+
+    /** Full-width colored block the header is drawn in. */
+    record Banner(Color background, float padding) {
+    }
+
+    /** Non-empty fields joined by the separator; skipped when all are empty. */
+    record ContactLine(List<Function<ResumeDTO, String>> fields, String separator, Font font,
+            int align, float spacingAfter) {
+    }
+
+    /**
+     * One section. Exactly one of summary, items or entries is set, depending
+     * on the type.
+     */
+    record Section(SectionType type, Heading heading, boolean newlineAfter,
+            Summary summary, Items items, Entries entries) {
+    }
+
+    /** Section title; null title means the section has no heading. */
+    record Heading(String title, Font font, float spacingBefore, float spacingAfter,
+            Rule rule, boolean blankAfter) {
+    }
+
+    record Summary(Font font, float spacingAfter, int maxLength, String prefix, String suffix, Box box) {
+    }
+
+    /** Background box with an optional left border and its own title. */
+    record Box(Color background, Color borderColor, float borderWidth, float padding,
+            String title, Font titleFont, float titleSpacingAfter) {
+    }
+
+    /**
+     * Plain string lists (skills, certifications): joined inline, laid out in
+     * a text grid, or rendered as an OpenPDF list.
+     */
+    record Items(String separator, Font font, float spacingAfter, Grid grid, ListStyle list) {
+    }
+
+    record Grid(int columns, String prefix, String gap) {
+    }
+
+    /** Null indents keep the OpenPDF defaults. */
+    record ListStyle(String symbol, Float symbolIndent, Float indentLeft) {
+    }
+
+    /**
+     * Repeated entries (experience, education, projects). For experience,
+     * clients describes how client projects of service-based roles are shown
+     * in place of the role's own highlights.
+     */
+    record Entries(int limit, boolean blankBefore, List<Line> lines, Bullets bullets,
+            Entries clients, boolean newlineAfter) {
+    }
+
+    /**
+     * A paragraph of one or more spans. Spans that render empty are dropped,
+     * and the line is skipped when all of them are empty (or replaced by a
+     * blank line when newlineIfEmpty is set).
+     */
+    record Line(List<Span> spans, float spacingBefore, float spacingAfter, boolean newlineIfEmpty) {
+    }
+
+    record Span(Text text, Font font) {
+    }
+
+    /**
+     * Highlights of an entry. limit counts rendered bullets, or raw list
+     * entries when limitRaw is set; list renders an OpenPDF list instead of
+     * prefixed paragraphs.
+     */
+    record Bullets(String prefix, Font font, int limit, boolean limitRaw, ListStyle list) {
+    }
+
+    /**
+     * Compiled text template such as "{position} at {company} ({endDate|Present})".
+     * A field renders its value, or the fallback after '|' when empty. A
+     * bracketed group "[ in {field}]" is dropped entirely when any field in it
+     * is empty.
+     */
+    static final class Text {
+
+        sealed interface Part permits Literal, Field, Group {
+            /** Appends this part; false when a field without fallback was empty. */
+            boolean appendTo(StringBuilder out, Object source);
+        }
+
+        record Literal(String text) implements Part {
+            public boolean appendTo(StringBuilder out, Object source) {
+                out.append(text);
+                return true;
+            }
+        }
+
+        record Field(Function<Object, String> getter, String fallback) implements Part {
+            public boolean appendTo(StringBuilder out, Object source) {
+                String value = getter.apply(source);
+                if (value != null && !value.isEmpty()) {
+                    out.append(value);
+                    return true;
+                }
+                if (fallback != null) {
+                    out.append(fallback);
+                    return true;
+                }
+                return false;
+            }
+        }
+
+        record Group(List<Part> parts) implements Part {
+            public boolean appendTo(StringBuilder out, Object source) {
+                int mark = out.length();
+                for (Part part : parts) {
+                    if (!part.appendTo(out, source)) {
+                        out.setLength(mark);
+                        break;
+                    }
+                }
+                return true;
+            }
+        }
+
+        private final Part[] parts;
+
+        Text(List<Part> parts) {
+            this.parts = parts.toArray(new Part[0]);
+        }
+
+        String render(Object source) {
+            if (parts.length == 1 && parts[0] instanceof Literal literal) {
+                return literal.text();
+            }
+            StringBuilder out = new StringBuilder(64);
+            for (Part part : parts) {
+                part.appendTo(out, source);
+            }
+            return out.toString();
+        }
+    }
+}
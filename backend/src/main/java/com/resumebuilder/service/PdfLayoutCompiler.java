@@ -0,0 +1,522 @@
+package com.resumebuilder.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.lowagie.text.Chunk;
+import com.lowagie.text.Element;
+import com.lowagie.text.Font;
+import com.lowagie.text.pdf.draw.LineSeparator;
+import com.resumebuilder.dto.ResumeDTO;
+
+import java.awt.Color;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Compiles a JSON layout description into a {@link PdfLayout}. Built-in
+ * layouts live in resources/pdf-layouts; stored templates carry the same JSON
+ * in Template.structure. Compilation resolves fonts, colors, rules and field
+ * references up front and fails with IllegalArgumentException on anything it
+ * does not understand, so rendering never parses or validates.
+ *
+ * <pre>
+ * {
+ *   "margins": [left, right, top, bottom],
+ *   "fonts": { "title": {"family": "helvetica", "size": 20, "style": "bold", "color": "#1e3a8a"}, ... },
+ *   "dense": { "threshold": 20, "fonts": { ...overrides } },
+ *   "rules": { "section": {"width": 0.3, "color": "#1e3a8a", "align": "left", "offset": -1, "mark": false} },
+ *   "header": {
+ *     "banner": {"background": "#1e293b", "padding": 20},
+ *     "name": {"font": "title", "uppercase": true, "align": "center", "spacingAfter": 2},
+ *     "contact": [ {"fields": ["email", "phone"], "separator": " | ", "font": "small"} ],
+ *     "rule": "section", "ruleNewline": true, "newlineAfter": true
+ *   },
+ *   "heading": {"font": "heading", "uppercase": false, "spacingBefore": 4, "rule": "section"},
+ *   "sections": [
+ *     {"type": "summary", "title": "SUMMARY", "font": "normal", "maxLength": 300},
+ *     {"type": "skills", "title": "SKILLS", "separator": " • ", "font": "normal"},
+ *     {"type": "experience", "title": "EXPERIENCE", "entry": {
+ *         "lines": [ {"text": "{position} at {company} ({startDate} - {endDate|Present})", "font": "bold"} ],
+ *         "bullets": {"prefix": "  • ", "font": "normal", "limit": 20} } }
+ *   ]
+ * }
+ * </pre>
+ *
+ * Fonts stay family based (not BaseFont based): OpenPDF only falls back to its
+ * bundled Unicode font for bullets and arrows when a font has no BaseFont.
+ */
+final class PdfLayoutCompiler {
+
+    private PdfLayoutCompiler() {
+    }
+
+    private static final Map<String, Function<Object, String>> RESUME_FIELDS = fields(ResumeDTO.class, Map.of(
+            "fullName", ResumeDTO::getFullName,
+            "email", ResumeDTO::getEmail,
+            "phone", ResumeDTO::getPhone,
+            "location", ResumeDTO::getLocation,
+            "linkedIn", ResumeDTO::getLinkedIn,
+            "github", ResumeDTO::getGithub,
+            "website", ResumeDTO::getWebsite,
+            "summary", ResumeDTO::getSummary));
+
+    private static final Map<String, Function<Object, String>> EXPERIENCE_FIELDS = fields(ResumeDTO.Experience.class,
+            Map.of(
+                    "company", ResumeDTO.Experience::getCompany,
+                    "position", ResumeDTO.Experience::getPosition,
+                    "location", ResumeDTO.Experience::getLocation,
+                    "startDate", ResumeDTO.Experience::getStartDate,
+                    "endDate", ResumeDTO.Experience::getEndDate,
+                    "description", ResumeDTO.Experience::getDescription));
+
+    private static final Map<String, Function<Object, String>> CLIENT_FIELDS = fields(ResumeDTO.ClientProject.class,
+            Map.of(
+                    "clientName", ResumeDTO.ClientProject::getClientName,
+                    "projectName", ResumeDTO.ClientProject::getProjectName,
+                    "role", ResumeDTO.ClientProject::getRole,
+                    "startDate", ResumeDTO.ClientProject::getStartDate,
+                    "endDate", ResumeDTO.ClientProject::getEndDate,
+                    "description", ResumeDTO.ClientProject::getDescription));
+
+    private static final Map<String, Function<Object, String>> EDUCATION_FIELDS = fields(ResumeDTO.Education.class,
+            Map.of(
+                    "institution", ResumeDTO.Education::getInstitution,
+                    "degree", ResumeDTO.Education::getDegree,
+                    "field", ResumeDTO.Education::getField,
+                    "startDate", ResumeDTO.Education::getStartDate,
+                    "endDate", ResumeDTO.Education::getEndDate,
+                    "gpa", ResumeDTO.Education::getGpa));
+
+    private static final Map<String, Function<Object, String>> PROJECT_FIELDS = fields(ResumeDTO.Project.class, Map.of(
+            "name", ResumeDTO.Project::getName,
+            "description", ResumeDTO.Project::getDescription,
+            "url", ResumeDTO.Project::getUrl,
+            "technologies", p -> p.getTechnologies() == null ? null : String.join(", ", p.getTechnologies())));
+
+    // Roles a description may use without declaring them
+    private static final Map<String, Font> DEFAULT_FONTS = Map.of(
+            "title", new Font(Font.HELVETICA, 18, Font.BOLD, Color.BLACK),
+            "heading", new Font(Font.HELVETICA, 11, Font.BOLD, Color.BLACK),
+            "subheading", new Font(Font.HELVETICA, 10, Font.BOLD, Color.DARK_GRAY),
+            "contact", new Font(Font.HELVETICA, 9, Font.NORMAL, Color.DARK_GRAY),
+            "normal", new Font(Font.HELVETICA, 10, Font.NORMAL, Color.BLACK),
+            "small", new Font(Font.HELVETICA, 9, Font.NORMAL, Color.DARK_GRAY),
+            "bold", new Font(Font.HELVETICA, 10, Font.BOLD, Color.BLACK),
+            "italic", new Font(Font.HELVETICA, 10, Font.ITALIC, Color.DARK_GRAY));
+
+    /**
+     * Compiles a layout description. The description hash becomes part of the
+     * layout's cache key.
+     */
+    static PdfLayout compile(String name, JsonNode spec) {
+        if (spec == null || !spec.isObject()) {
+            throw invalid("layout must be a JSON object");
+        }
+        String cacheKey = name + "@" + hash(spec.toString());
+
+        Map<String, Font> fonts = fonts(spec.path("fonts"), DEFAULT_FONTS);
+        Map<String, PdfLayout.Rule> rules = rules(spec.path("rules"));
+
+        JsonNode denseSpec = spec.path("dense");
+        PdfLayout dense = null;
+        int threshold = 0;
+        if (denseSpec.isObject()) {
+            threshold = denseSpec.path("threshold").asInt(20);
+            Map<String, Font> denseFonts = fonts(denseSpec.path("fonts"), fonts);
+            dense = build(name, cacheKey + "-dense", spec, denseFonts, rules, 0, null);
+        }
+        return build(name, cacheKey, spec, fonts, rules, threshold, dense);
+    }
+
+    private static PdfLayout build(String name, String cacheKey, JsonNode spec, Map<String, Font> fonts,
+            Map<String, PdfLayout.Rule> rules, int threshold, PdfLayout dense) {
+        float[] margins = margins(spec.path("margins"));
+        PdfLayout.Header header = header(spec.path("header"), fonts, rules);
+
+        JsonNode sectionSpecs = spec.path("sections");
+        if (!sectionSpecs.isArray() || sectionSpecs.isEmpty()) {
+            throw invalid("sections must be a non-empty array");
+        }
+        List<PdfLayout.Section> sections = new ArrayList<>();
+        for (JsonNode section : sectionSpecs) {
+            sections.add(section(section, spec.path("heading"), fonts, rules));
+        }
+        return new PdfLayout(name, cacheKey, margins, header, List.copyOf(sections), threshold, dense);
+    }
+
+    private static float[] margins(JsonNode node) {
+        if (node.isMissingNode()) {
+            return new float[] { 36, 36, 36, 36 };
+        }
+        if (!node.isArray() || node.size() != 4) {
+            throw invalid("margins must be [left, right, top, bottom]");
+        }
+        return new float[] { (float) node.get(0).asDouble(), (float) node.get(1).asDouble(),
+                (float) node.get(2).asDouble(), (float) node.get(3).asDouble() };
+    }
+
+    // ===== Fonts, colors, rules =====
+
+    private static Map<String, Font> fonts(JsonNode node, Map<String, Font> base) {
+        Map<String, Font> fonts = new HashMap<>(base);
+        Iterator<Map.Entry<String, JsonNode>> it = node.fields();
+        while (it.hasNext()) {
+            Map.Entry<String, JsonNode> entry = it.next();
+            JsonNode f = entry.getValue();
+            fonts.put(entry.getKey(), new Font(family(f.path("family").asText("helvetica")),
+                    (float) f.path("size").asDouble(10), style(f.path("style").asText("normal")),
+                    color(f.path("color").asText("#000000"))));
+        }
+        return fonts;
+    }
+
+    private static int family(String family) {
+        return switch (family.toLowerCase(Locale.ROOT)) {
+            case "helvetica" -> Font.HELVETICA;
+            case "times" -> Font.TIMES_ROMAN;
+            case "courier" -> Font.COURIER;
+            default -> throw invalid("unknown font family " + family);
+        };
+    }
+
+    private static int style(String style) {
+        return switch (style.toLowerCase(Locale.ROOT)) {
+            case "normal" -> Font.NORMAL;
+            case "bold" -> Font.BOLD;
+            case "italic" -> Font.ITALIC;
+            case "bolditalic" -> Font.BOLDITALIC;
+            default -> throw invalid("unknown font style " + style);
+        };
+    }
+
+    private static Color color(String hex) {
+        if (hex == null || !hex.matches("#[0-9a-fA-F]{6}")) {
+            throw invalid("colors must be #rrggbb, got " + hex);
+        }
+        return new Color(Integer.parseInt(hex.substring(1), 16));
+    }
+
+    private static int align(String align) {
+        if (align == null) {
+            return Element.ALIGN_UNDEFINED;
+        }
+        return switch (align.toLowerCase(Locale.ROOT)) {
+            case "left" -> Element.ALIGN_LEFT;
+            case "center" -> Element.ALIGN_CENTER;
+            case "right" -> Element.ALIGN_RIGHT;
+            case "justify" -> Element.ALIGN_JUSTIFIED;
+            default -> throw invalid("unknown alignment " + align);
+        };
+    }
+
+    private static Map<String, PdfLayout.Rule> rules(JsonNode node) {
+        Map<String, PdfLayout.Rule> rules = new HashMap<>();
+        Iterator<Map.Entry<String, JsonNode>> it = node.fields();
+        while (it.hasNext()) {
+            Map.Entry<String, JsonNode> entry = it.next();
+            JsonNode r = entry.getValue();
+            int align = align(r.path("align").asText("center"));
+            LineSeparator line = new LineSeparator((float) r.path("width").asDouble(0.5), 100,
+                    color(r.path("color").asText("#000000")), align, (float) r.path("offset").asDouble(0));
+            // A bare separator is drawn at the current position; a Chunk flows with the text
+            Element element = r.path("mark").asBoolean(false) ? line : new Chunk(line);
+            rules.put(entry.getKey(), new PdfLayout.Rule(element, false));
+        }
+        return rules;
+    }
+
+    private static PdfLayout.Rule rule(JsonNode owner, Map<String, PdfLayout.Rule> rules) {
+        String name = text(owner, "rule");
+        if (name == null) {
+            return null;
+        }
+        PdfLayout.Rule rule = rules.get(name);
+        if (rule == null) {
+            throw invalid("unknown rule " + name);
+        }
+        return new PdfLayout.Rule(rule.element(), owner.path("ruleNewline").asBoolean(false));
+    }
+
+    private static Font font(JsonNode owner, String key, String defaultRole, Map<String, Font> fonts) {
+        String role = owner.path(key).asText(defaultRole);
+        Font font = fonts.get(role);
+        if (font == null) {
+            throw invalid("unknown font " + role);
+        }
+        return font;
+    }
+
+    // ===== Header =====
+
+    private static PdfLayout.Header header(JsonNode node, Map<String, Font> fonts, Map<String, PdfLayout.Rule> rules) {
+        JsonNode banner = node.path("banner");
+        JsonNode name = node.path("name");
+
+        List<PdfLayout.ContactLine> lines = new ArrayList<>();
+        for (JsonNode line : node.path("contact")) {
+            List<Function<ResumeDTO, String>> fields = new ArrayList<>();
+            for (JsonNode field : line.path("fields")) {
+                Function<Object, String> getter = field(RESUME_FIELDS, field.asText(), "contact");
+                fields.add(getter::apply);
+            }
+            lines.add(new PdfLayout.ContactLine(List.copyOf(fields), line.path("separator").asText(" | "),
+                    font(line, "font", "small", fonts), align(text(line, "align")),
+                    (float) line.path("spacingAfter").asDouble(0)));
+        }
+
+        return new PdfLayout.Header(
+                banner.isObject()
+                        ? new PdfLayout.Banner(color(banner.path("background").asText(null)),
+                                (float) banner.path("padding").asDouble(20))
+                        : null,
+                font(name, "font", "title", fonts),
+                name.path("uppercase").asBoolean(false),
+                align(text(name, "align")),
+                (float) name.path("spacingAfter").asDouble(0),
+                List.copyOf(lines),
+                rule(node, rules),
+                node.path("newlineAfter").asBoolean(false));
+    }
+
+    // ===== Sections =====
+
+    private static PdfLayout.Section section(JsonNode node, JsonNode defaultHeading, Map<String, Font> fonts,
+            Map<String, PdfLayout.Rule> rules) {
+        PdfLayout.SectionType type;
+        try {
+            type = PdfLayout.SectionType.valueOf(node.path("type").asText("").toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw invalid("unknown section type " + node.path("type").asText());
+        }
+
+        PdfLayout.Heading heading = heading(text(node, "title"), defaultHeading, node.path("heading"), fonts, rules);
+        boolean newlineAfter = node.path("newlineAfter").asBoolean(false);
+
+        return switch (type) {
+            case SUMMARY -> new PdfLayout.Section(type, heading, newlineAfter, summary(node, fonts), null, null);
+            case SKILLS, CERTIFICATIONS -> new PdfLayout.Section(type, heading, newlineAfter, null,
+                    items(node, fonts), null);
+            case EXPERIENCE -> new PdfLayout.Section(type, heading, newlineAfter, null, null,
+                    entries(node.path("entry"), EXPERIENCE_FIELDS, fonts, true));
+            case EDUCATION -> new PdfLayout.Section(type, heading, newlineAfter, null, null,
+                    entries(node.path("entry"), EDUCATION_FIELDS, fonts, false));
+            case PROJECTS -> new PdfLayout.Section(type, heading, newlineAfter, null, null,
+                    entries(node.path("entry"), PROJECT_FIELDS, fonts, false));
+        };
+    }
+
+    private static PdfLayout.Heading heading(String title, JsonNode defaults, JsonNode overrides,
+            Map<String, Font> fonts, Map<String, PdfLayout.Rule> rules) {
+        if (title == null) {
+            return null;
+        }
+        ObjectNode merged = defaults.isObject() ? ((ObjectNode) defaults).deepCopy()
+                : JsonNodeFactory.instance.objectNode();
+        if (overrides.isObject()) {
+            merged.setAll((ObjectNode) overrides);
+        }
+        return new PdfLayout.Heading(
+                merged.path("uppercase").asBoolean(false) ? title.toUpperCase(Locale.ROOT) : title,
+                font(merged, "font", "heading", fonts),
+                (float) merged.path("spacingBefore").asDouble(0),
+                (float) merged.path("spacingAfter").asDouble(0),
+                rule(merged, rules),
+                merged.path("blankAfter").asBoolean(false));
+    }
+
+    private static PdfLayout.Summary summary(JsonNode node, Map<String, Font> fonts) {
+        JsonNode box = node.path("box");
+        return new PdfLayout.Summary(
+                font(node, "font", "normal", fonts),
+                (float) node.path("spacingAfter").asDouble(0),
+                node.path("maxLength").asInt(0),
+                node.path("prefix").asText(""),
+                node.path("suffix").asText(""),
+                box.isObject()
+                        ? new PdfLayout.Box(
+                                color(box.path("background").asText(null)),
+                                box.has("borderColor") ? color(box.path("borderColor").asText()) : null,
+                                (float) box.path("borderWidth").asDouble(0),
+                                (float) box.path("padding").asDouble(10),
+                                text(box, "title"),
+                                box.has("title") ? font(box, "titleFont", "subheading", fonts) : null,
+                                (float) box.path("titleSpacingAfter").asDouble(0))
+                        : null);
+    }
+
+    private static PdfLayout.Items items(JsonNode node, Map<String, Font> fonts) {
+        JsonNode grid = node.path("grid");
+        return new PdfLayout.Items(
+                node.path("separator").asText(", "),
+                font(node, "font", "normal", fonts),
+                (float) node.path("spacingAfter").asDouble(0),
+                grid.isObject()
+                        ? new PdfLayout.Grid(Math.max(1, grid.path("columns").asInt(3)),
+                                grid.path("prefix").asText(""), grid.path("gap").asText("    "))
+                        : null,
+                listStyle(node.path("list")));
+    }
+
+    private static PdfLayout.ListStyle listStyle(JsonNode node) {
+        if (!node.isObject()) {
+            return null;
+        }
+        return new PdfLayout.ListStyle(
+                node.path("symbol").asText("•"),
+                node.has("symbolIndent") ? (float) node.path("symbolIndent").asDouble() : null,
+                node.has("indentLeft") ? (float) node.path("indentLeft").asDouble() : null);
+    }
+
+    private static PdfLayout.Entries entries(JsonNode node, Map<String, Function<Object, String>> scope,
+            Map<String, Font> fonts, boolean allowClients) {
+        if (!node.isObject()) {
+            throw invalid("entry sections need an entry object");
+        }
+        List<PdfLayout.Line> lines = new ArrayList<>();
+        for (JsonNode line : node.path("lines")) {
+            lines.add(line(line, scope, fonts));
+        }
+
+        JsonNode clients = node.path("clients");
+        if (clients.isObject() && !allowClients) {
+            throw invalid("clients are only supported for experience");
+        }
+
+        return new PdfLayout.Entries(
+                node.path("limit").asInt(0),
+                node.path("blankBefore").asBoolean(false),
+                List.copyOf(lines),
+                bullets(node.path("bullets"), fonts),
+                clients.isObject() ? entries(clients, CLIENT_FIELDS, fonts, false) : null,
+                node.path("newlineAfter").asBoolean(false));
+    }
+
+    private static PdfLayout.Line line(JsonNode node, Map<String, Function<Object, String>> scope,
+            Map<String, Font> fonts) {
+        List<PdfLayout.Span> spans = new ArrayList<>();
+        if (node.has("spans")) {
+            for (JsonNode span : node.path("spans")) {
+                spans.add(new PdfLayout.Span(text(span.path("text").asText(""), scope), font(span, "font", "normal",
+                        fonts)));
+            }
+        } else {
+            spans.add(new PdfLayout.Span(text(node.path("text").asText(""), scope), font(node, "font", "normal", fonts)));
+        }
+        return new PdfLayout.Line(List.copyOf(spans),
+                (float) node.path("spacingBefore").asDouble(0),
+                (float) node.path("spacingAfter").asDouble(0),
+                node.path("newlineIfEmpty").asBoolean(false));
+    }
+
+    private static PdfLayout.Bullets bullets(JsonNode node, Map<String, Font> fonts) {
+        if (!node.isObject()) {
+            return null;
+        }
+        return new PdfLayout.Bullets(
+                node.path("prefix").asText("• "),
+                font(node, "font", "normal", fonts),
+                node.path("limit").asInt(0),
+                node.path("limitRaw").asBoolean(false),
+                listStyle(node.path("list")));
+    }
+
+    // ===== Text templates =====
+
+    /**
+     * Parses "{field}", "{field|fallback}" and optional "[...]" groups into a
+     * {@link PdfLayout.Text}, resolving every field against the given scope.
+     */
+    static PdfLayout.Text text(String template, Map<String, Function<Object, String>> scope) {
+        List<PdfLayout.Text.Part> parts = new ArrayList<>();
+        List<PdfLayout.Text.Part> group = null;
+        StringBuilder literal = new StringBuilder();
+
+        for (int i = 0; i < template.length(); i++) {
+            char c = template.charAt(i);
+            List<PdfLayout.Text.Part> target = group != null ? group : parts;
+            if (c == '{') {
+                int end = template.indexOf('}', i);
+                if (end < 0) {
+                    throw invalid("unclosed { in " + template);
+                }
+                flush(literal, target);
+                String ref = template.substring(i + 1, end);
+                int bar = ref.indexOf('|');
+                String name = bar >= 0 ? ref.substring(0, bar) : ref;
+                target.add(new PdfLayout.Text.Field(field(scope, name.trim(), template),
+                        bar >= 0 ? ref.substring(bar + 1) : null));
+                i = end;
+            } else if (c == '[') {
+                if (group != null) {
+                    throw invalid("nested [ in " + template);
+                }
+                flush(literal, parts);
+                group = new ArrayList<>();
+            } else if (c == ']') {
+                if (group == null) {
+                    throw invalid("unmatched ] in " + template);
+                }
+                flush(literal, group);
+                parts.add(new PdfLayout.Text.Group(List.copyOf(group)));
+                group = null;
+            } else {
+                literal.append(c);
+            }
+        }
+        if (group != null) {
+            throw invalid("unclosed [ in " + template);
+        }
+        flush(literal, parts);
+        return new PdfLayout.Text(parts);
+    }
+
+    private static void flush(StringBuilder literal, List<PdfLayout.Text.Part> target) {
+        if (literal.length() > 0) {
+            target.add(new PdfLayout.Text.Literal(literal.toString()));
+            literal.setLength(0);
+        }
+    }
+
+    private static Function<Object, String> field(Map<String, Function<Object, String>> scope, String name,
+            String context) {
+        Function<Object, String> getter = scope.get(name);
+        if (getter == null) {
+            throw invalid("unknown field {" + name + "} in " + context + ", expected one of " + scope.keySet());
+        }
+        return getter;
+    }
+
+    private static <T> Map<String, Function<Object, String>> fields(Class<T> type, Map<String, Function<T, String>> getters) {
+        Map<String, Function<Object, String>> fields = new HashMap<>();
+        getters.forEach((name, getter) -> fields.put(name, source -> getter.apply(type.cast(source))));
+        return Map.copyOf(fields);
+    }
+
+    private static String text(JsonNode node, String key) {
+        JsonNode value = node.get(key);
+        return value == null || value.isNull() ? null : value.asText();
+    }
+
+    static String hash(String value) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(value.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest, 0, 6);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private static IllegalArgumentException invalid(String message) {
+        return new IllegalArgumentException("Invalid PDF layout: " + message);
+    }
+}
@@ -0,0 +1,153 @@
+package com.resumebuilder.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.resumebuilder.entity.Template;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Compiled PDF layouts by template name. Built-in styles are compiled from
+ * resources/pdf-layouts at startup; stored templates (Template.id) use their
+ * structure JSON, or the built-in layout of their baseStyle when they have
+ * none. Stored layouts are compiled on first use and reused until
+ * {@link #refresh()}, keyed by structure hash so unchanged ones are never
+ * compiled twice.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class PdfLayoutRegistry {
+
+    public static final String DEFAULT_LAYOUT = "modern";
+
+    // Styles without a PDF layout of their own (layout complexity), rendered as modern
+    private static final Map<String, String> ALIASES = Map.of(
+            "twocolumn", DEFAULT_LAYOUT,
+            "developer", DEFAULT_LAYOUT);
+
+    private final ReferenceDataCache referenceData;
+    private final ObjectMapper objectMapper;
+
+    private final Map<String, PdfLayout> builtIn = new HashMap<>();
+
+    // Stored templates by id; null until first needed and after refresh()
+    private volatile Map<String, PdfLayout> stored;
+    // Compiled structures by hash, carried over between refreshes
+    private Map<String, PdfLayout> compiledStructures = Map.of();
+
+    @PostConstruct
+    void loadBuiltIns() {
+        for (String style : PdfService.TEMPLATE_STYLES) {
+            if (ALIASES.containsKey(style)) {
+                continue;
+            }
+            ClassPathResource resource = new ClassPathResource("pdf-layouts/" + style + ".json");
+            try (InputStream in = resource.getInputStream()) {
+                builtIn.put(style, PdfLayoutCompiler.compile(style, objectMapper.readTree(in)));
+            } catch (IOException e) {
+                throw new IllegalStateException("Could not load PDF layout " + resource.getPath(), e);
+            }
+        }
+        log.info("Compiled {} built-in PDF layouts", builtIn.size());
+    }
+
+    /**
+     * Layout for a style name or stored template id. Unknown names fall back to
+     * the default layout.
+     */
+    PdfLayout resolve(String template) {
+        if (template == null) {
+            return builtIn.get(DEFAULT_LAYOUT);
+        }
+        PdfLayout layout = builtIn.get(template);
+        if (layout != null) {
+            return layout;
+        }
+        String alias = ALIASES.get(template);
+        if (alias != null) {
+            return builtIn.get(alias);
+        }
+        layout = storedLayouts().get(template);
+        return layout != null ? layout : builtIn.get(DEFAULT_LAYOUT);
+    }
+
+    /**
+     * Validates a structure by compiling it.
+     *
+     * @throws IllegalArgumentException when the structure is not a valid layout
+     */
+    public void validate(String structure) {
+        compileStructure("validation", structure);
+    }
+
+    /** Drops the stored-template layouts; they are reloaded on next use. */
+    public void refresh() {
+        stored = null;
+    }
+
+    private Map<String, PdfLayout> storedLayouts() {
+        Map<String, PdfLayout> layouts = stored;
+        if (layouts == null) {
+            synchronized (this) {
+                layouts = stored;
+                if (layouts == null) {
+                    layouts = loadStored();
+                    stored = layouts;
+                }
+            }
+        }
+        return layouts;
+    }
+
+    private Map<String, PdfLayout> loadStored() {
+        Map<String, PdfLayout> layouts = new HashMap<>();
+        Map<String, PdfLayout> compiled = new HashMap<>();
+
+        for (Template template : referenceData.templates()) {
+            PdfLayout base = builtIn.getOrDefault(template.getBaseStyle(), builtIn.get(DEFAULT_LAYOUT));
+            String structure = template.getStructure();
+            if (structure == null || structure.isBlank()) {
+                layouts.put(template.getId(), base);
+                continue;
+            }
+
+            String key = template.getId() + ":" + PdfLayoutCompiler.hash(structure);
+            PdfLayout layout = compiledStructures.get(key);
+            if (layout == null) {
+                try {
+                    layout = compileStructure(template.getId(), structure);
+                } catch (IllegalArgumentException e) {
+                    log.warn("Template {} has an invalid layout structure, using {}: {}",
+                            template.getId(), base.name(), e.getMessage());
+                    layout = base;
+                }
+            }
+            compiled.put(key, layout);
+            layouts.put(template.getId(), layout);
+        }
+
+        compiledStructures = compiled;
+        log.info("Loaded PDF layouts for {} stored templates", layouts.size());
+        return Map.copyOf(layouts);
+    }
+
+    private PdfLayout compileStructure(String name, String structure) {
+        JsonNode spec;
+        try {
+            spec = objectMapper.readTree(structure);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Invalid PDF layout: " + e.getOriginalMessage());
+        }
+        return PdfLayoutCompiler.compile(name, spec);
+    }
+}
@@ -0,0 +1,380 @@
+package com.resumebuilder.service;
+
+import com.lowagie.text.Chunk;
+import com.lowagie.text.Document;
+import com.lowagie.text.DocumentException;
+import com.lowagie.text.ListItem;
+import com.lowagie.text.PageSize;
+import com.lowagie.text.Paragraph;
+import com.lowagie.text.Rectangle;
+import com.lowagie.text.pdf.PdfPCell;
+import com.lowagie.text.pdf.PdfPTable;
+import com.lowagie.text.pdf.PdfWriter;
+import com.resumebuilder.dto.ResumeDTO;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Renders a resume with a compiled {@link PdfLayout}. Stateless and shared by
+ * every template; all per-template decisions come from the layout.
+ */
+@Component
+public class PdfLayoutRenderer {
+
+    byte[] render(ResumeDTO resume, PdfLayout layout) {
+        // Dense resumes get the smaller fonts of the layout's dense variant
+        PdfLayout selected = layout.forContentItems(countContentItems(resume));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        float[] margins = selected.margins();
+        Document document = new Document(PageSize.A4, margins[0], margins[1], margins[2], margins[3]);
+
+        try {
+            PdfWriter.getInstance(document, out);
+            document.open();
+
+            addHeader(document, resume, selected.header());
+            for (PdfLayout.Section section : selected.sections()) {
+                addSection(document, resume, section);
+            }
+
+            document.close();
+        } catch (DocumentException e) {
+            throw new RuntimeException("Error generating PDF", e);
+        }
+        return out.toByteArray();
+    }
+
+    // ===== Header =====
+
+    private void addHeader(Document document, ResumeDTO resume, PdfLayout.Header header) throws DocumentException {
+        List<Paragraph> paragraphs = new ArrayList<>(1 + header.contactLines().size());
+
+        String fullName = resume.getFullName() != null ? resume.getFullName() : "";
+        Paragraph name = new Paragraph(header.upperCaseName() ? fullName.toUpperCase() : fullName, header.nameFont());
+        name.setAlignment(header.nameAlign());
+        name.setSpacingAfter(header.nameSpacingAfter());
+        paragraphs.add(name);
+
+        for (PdfLayout.ContactLine line : header.contactLines()) {
+            StringBuilder contact = new StringBuilder();
+            for (Function<ResumeDTO, String> field : line.fields()) {
+                String value = field.apply(resume);
+                if (value != null && !value.isEmpty()) {
+                    if (contact.length() > 0)
+                        contact.append(line.separator());
+                    contact.append(value);
+                }
+            }
+            if (contact.length() > 0) {
+                Paragraph contactPara = new Paragraph(contact.toString(), line.font());
+                contactPara.setAlignment(line.align());
+                contactPara.setSpacingAfter(line.spacingAfter());
+                paragraphs.add(contactPara);
+            }
+        }
+
+        if (header.banner() != null) {
+            PdfPTable headerTable = new PdfPTable(1);
+            headerTable.setWidthPercentage(100);
+
+            PdfPCell headerCell = new PdfPCell();
+            headerCell.setBackgroundColor(header.banner().background());
+            headerCell.setBorder(Rectangle.NO_BORDER);
+            headerCell.setPadding(header.banner().padding());
+            for (Paragraph paragraph : paragraphs) {
+                headerCell.addElement(paragraph);
+            }
+
+            headerTable.addCell(headerCell);
+            document.add(headerTable);
+        } else {
+            for (Paragraph paragraph : paragraphs) {
+                document.add(paragraph);
+            }
+        }
+
+        addRule(document, header.rule());
+        if (header.newlineAfter()) {
+            document.add(Chunk.NEWLINE);
+        }
+    }
+
+    private void addRule(Document document, PdfLayout.Rule rule) throws DocumentException {
+        if (rule == null) {
+            return;
+        }
+        document.add(rule.element());
+        if (rule.newline()) {
+            document.add(Chunk.NEWLINE);
+        }
+    }
+
+    // ===== Sections =====
+
+    private void addSection(Document document, ResumeDTO resume, PdfLayout.Section section) throws DocumentException {
+        boolean added = switch (section.type()) {
+            case SUMMARY -> addSummary(document, resume.getSummary(), section);
+            case SKILLS -> addItems(document, resume.getSkills(), section);
+            case CERTIFICATIONS -> addItems(document, resume.getCertifications(), section);
+            case EXPERIENCE -> addEntries(document, resume.getExperience(), section);
+            case EDUCATION -> addEntries(document, resume.getEducation(), section);
+            case PROJECTS -> addEntries(document, resume.getProjects(), section);
+        };
+        if (added && section.newlineAfter()) {
+            document.add(Chunk.NEWLINE);
+        }
+    }
+
+    private void addHeading(Document document, PdfLayout.Heading heading) throws DocumentException {
+        if (heading == null) {
+            return;
+        }
+        Paragraph title = new Paragraph(heading.title(), heading.font());
+        title.setSpacingBefore(heading.spacingBefore());
+        title.setSpacingAfter(heading.spacingAfter());
+        document.add(title);
+
+        addRule(document, heading.rule());
+        if (heading.blankAfter()) {
+            document.add(new Paragraph(" "));
+        }
+    }
+
+    private boolean addSummary(Document document, String summary, PdfLayout.Section section)
+            throws DocumentException {
+        if (summary == null || summary.isEmpty()) {
+            return false;
+        }
+        PdfLayout.Summary style = section.summary();
+        if (style.maxLength() > 0 && summary.length() > style.maxLength()) {
+            summary = summary.substring(0, style.maxLength()) + "...";
+        }
+        Paragraph text = new Paragraph(style.prefix() + summary + style.suffix(), style.font());
+
+        addHeading(document, section.heading());
+
+        PdfLayout.Box box = style.box();
+        if (box == null) {
+            text.setSpacingAfter(style.spacingAfter());
+            document.add(text);
+            return true;
+        }
+
+        PdfPTable summaryTable = new PdfPTable(1);
+        summaryTable.setWidthPercentage(100);
+        PdfPCell summaryCell = new PdfPCell();
+        summaryCell.setBackgroundColor(box.background());
+        if (box.borderColor() != null) {
+            summaryCell.setBorder(Rectangle.LEFT);
+            summaryCell.setBorderColorLeft(box.borderColor());
+            summaryCell.setBorderWidthLeft(box.borderWidth());
+            summaryCell.setBorderWidthRight(0);
+            summaryCell.setBorderWidthTop(0);
+            summaryCell.setBorderWidthBottom(0);
+        } else {
+            summaryCell.setBorder(Rectangle.NO_BORDER);
+        }
+        summaryCell.setPadding(box.padding());
+
+        if (box.title() != null) {
+            Paragraph title = new Paragraph(box.title(), box.titleFont());
+            title.setSpacingAfter(box.titleSpacingAfter());
+            summaryCell.addElement(title);
+        }
+        summaryCell.addElement(text);
+        summaryTable.addCell(summaryCell);
+
+        document.add(summaryTable);
+        return true;
+    }
+
+    private boolean addItems(Document document, List<String> values, PdfLayout.Section section)
+            throws DocumentException {
+        List<String> items = nonBlank(values);
+        if (items.isEmpty()) {
+            return false;
+        }
+        addHeading(document, section.heading());
+
+        PdfLayout.Items style = section.items();
+        if (style.list() != null) {
+            com.lowagie.text.List list = list(style.list());
+            for (String item : items)
+                list.add(new ListItem(item, style.font()));
+            document.add(list);
+            return true;
+        }
+
+        String text;
+        if (style.grid() != null) {
+            PdfLayout.Grid grid = style.grid();
+            StringBuilder cells = new StringBuilder();
+            for (int i = 0; i < items.size(); i++) {
+                cells.append(grid.prefix()).append(items.get(i));
+                cells.append((i + 1) % grid.columns() == 0 ? "\n" : grid.gap());
+            }
+            text = cells.toString().trim();
+        } else {
+            text = String.join(style.separator(), items);
+        }
+
+        Paragraph paragraph = new Paragraph(text, style.font());
+        paragraph.setSpacingAfter(style.spacingAfter());
+        document.add(paragraph);
+        return true;
+    }
+
+    private boolean addEntries(Document document, List<?> values, PdfLayout.Section section)
+            throws DocumentException {
+        if (values == null || values.isEmpty()) {
+            return false;
+        }
+        addHeading(document, section.heading());
+        addEntryList(document, values, section.entries());
+        return true;
+    }
+
+    private void addEntryList(Document document, List<?> values, PdfLayout.Entries entries)
+            throws DocumentException {
+        int count = 0;
+        for (Object entry : values) {
+            if (entries.limit() > 0 && count >= entries.limit())
+                break;
+            if (entries.blankBefore()) {
+                document.add(new Paragraph(" "));
+            }
+
+            for (PdfLayout.Line line : entries.lines()) {
+                addLine(document, line, entry);
+            }
+
+            // Service-based roles list their client projects in place of highlights
+            if (entries.clients() != null && entry instanceof ResumeDTO.Experience exp
+                    && exp.isServiceBased() && exp.getClientProjects() != null
+                    && !exp.getClientProjects().isEmpty()) {
+                addEntryList(document, exp.getClientProjects(), entries.clients());
+            } else if (entries.bullets() != null) {
+                addBullets(document, highlights(entry), entries.bullets());
+            }
+
+            if (entries.newlineAfter()) {
+                document.add(Chunk.NEWLINE);
+            }
+            count++;
+        }
+    }
+
+    private void addLine(Document document, PdfLayout.Line line, Object source) throws DocumentException {
+        Paragraph paragraph;
+        if (line.spans().size() == 1) {
+            PdfLayout.Span span = line.spans().get(0);
+            String text = span.text().render(source);
+            paragraph = text.isEmpty() ? null : new Paragraph(text, span.font());
+        } else {
+            paragraph = new Paragraph();
+            for (PdfLayout.Span span : line.spans()) {
+                String text = span.text().render(source);
+                if (!text.isEmpty()) {
+                    paragraph.add(new Chunk(text, span.font()));
+                }
+            }
+            if (paragraph.isEmpty()) {
+                paragraph = null;
+            }
+        }
+
+        if (paragraph == null) {
+            if (line.newlineIfEmpty()) {
+                document.add(Chunk.NEWLINE);
+            }
+            return;
+        }
+        paragraph.setSpacingBefore(line.spacingBefore());
+        paragraph.setSpacingAfter(line.spacingAfter());
+        document.add(paragraph);
+    }
+
+    private void addBullets(Document document, List<String> highlights, PdfLayout.Bullets bullets)
+            throws DocumentException {
+        if (highlights == null || highlights.isEmpty()) {
+            return;
+        }
+        com.lowagie.text.List list = bullets.list() != null ? list(bullets.list()) : null;
+
+        int limit = bullets.limit() > 0 ? bullets.limit() : Integer.MAX_VALUE;
+        int end = bullets.limitRaw() ? Math.min(limit, highlights.size()) : highlights.size();
+        int count = 0;
+        for (int i = 0; i < end && count < limit; i++) {
+            String h = highlights.get(i);
+            if (h == null || h.trim().isEmpty())
+                continue;
+            if (list != null)
+                list.add(new ListItem(h.trim(), bullets.font()));
+            else
+                document.add(new Paragraph(bullets.prefix() + h.trim(), bullets.font()));
+            count++;
+        }
+
+        if (list != null && count > 0) {
+            document.add(list);
+        }
+    }
+
+    private com.lowagie.text.List list(PdfLayout.ListStyle style) {
+        com.lowagie.text.List list = new com.lowagie.text.List(com.lowagie.text.List.UNORDERED);
+        list.setListSymbol(style.symbol());
+        if (style.symbolIndent() != null)
+            list.setSymbolIndent(style.symbolIndent());
+        if (style.indentLeft() != null)
+            list.setIndentationLeft(style.indentLeft());
+        return list;
+    }
+
+    private static List<String> highlights(Object entry) {
+        if (entry instanceof ResumeDTO.Experience exp)
+            return exp.getHighlights();
+        if (entry instanceof ResumeDTO.ClientProject client)
+            return client.getHighlights();
+        return null;
+    }
+
+    private static List<String> nonBlank(List<String> values) {
+        if (values == null || values.isEmpty()) {
+            return List.of();
+        }
+        return values.stream()
+                .filter(s -> s != null && !s.trim().isEmpty())
+                .map(String::trim)
+                .toList();
+    }
+
+    // Helper to count content items for dynamic font sizing
+    static int countContentItems(ResumeDTO resume) {
+        int count = 0;
+        if (resume.getSummary() != null && !resume.getSummary().isEmpty())
+            count += 2;
+        if (resume.getExperience() != null) {
+            for (var exp : resume.getExperience()) {
+                count += 2; // Company + title
+                if (exp.getHighlights() != null)
+                    count += Math.min(exp.getHighlights().size(), 4);
+                if (exp.getClientProjects() != null)
+                    count += exp.getClientProjects().size() * 3;
+            }
+        }
+        if (resume.getEducation() != null)
+            count += resume.getEducation().size();
+        if (resume.getSkills() != null)
+            count += 1;
+        if (resume.getProjects() != null)
+            count += resume.getProjects().size();
+        if (resume.getCertifications() != null)
+            count += 1;
+        return count;
+    }
+}
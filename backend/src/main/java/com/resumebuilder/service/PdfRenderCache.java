@@ -0,0 +1,250 @@
+package com.resumebuilder.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MapperFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.resumebuilder.dto.ResumeDTO;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Supplier;
+
+/**
+ * Content-addressed cache for rendered resume PDFs.
+ *
+ * Entries are keyed by a SHA-256 of the canonical JSON of the resume plus the
+ * template name, so an edited resume can never be served a stale PDF. Memory is
+ * bounded in bytes with LRU eviction; evicted entries optionally spill to disk.
+ * Entries are also indexed by resume id so updates and deletes can drop them
+ * eagerly instead of waiting for eviction.
+ */
+@Component
+@Slf4j
+public class PdfRenderCache {
+
+    private final ObjectMapper canonicalMapper = JsonMapper.builder()
+            .enable(MapperFeature.SORT_PROPERTIES_ALPHABETICALLY)
+            .enable(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS)
+            .build();
+
+    @Value("${app.pdf.cache.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.pdf.cache.max-bytes:16777216}")
+    private long maxMemoryBytes;
+
+    @Value("${app.pdf.cache.disk-dir:}")
+    private String diskDir;
+
+    @Value("${app.pdf.cache.max-disk-bytes:268435456}")
+    private long maxDiskBytes;
+
+    // Access-ordered maps give us LRU iteration order for eviction
+    private final LinkedHashMap<String, byte[]> memory = new LinkedHashMap<>(64, 0.75f, true);
+    private final LinkedHashMap<String, Long> disk = new LinkedHashMap<>(64, 0.75f, true);
+    private final Map<String, Set<String>> keysByResume = new HashMap<>();
+    private final Map<String, String> resumeByKey = new HashMap<>();
+    private long memoryBytes;
+    private long diskBytes;
+    private Path diskPath;
+
+    @PostConstruct
+    void initDiskStore() {
+        if (!enabled || diskDir == null || diskDir.isBlank()) {
+            return;
+        }
+        try {
+            diskPath = Paths.get(diskDir);
+            Files.createDirectories(diskPath);
+            // Entries from a previous run are not indexed, so start clean
+            try (DirectoryStream<Path> files = Files.newDirectoryStream(diskPath, "*.pdf")) {
+                for (Path file : files) {
+                    Files.deleteIfExists(file);
+                }
+            }
+            log.info("PDF render cache spilling to {}", diskPath.toAbsolutePath());
+        } catch (IOException e) {
+            log.warn("PDF render cache disk store disabled: {}", e.getMessage());
+            diskPath = null;
+        }
+    }
+
+    /**
+     * Returns the cached PDF for this resume/template, rendering and storing it on
+     * a miss. The returned array is shared and must not be modified.
+     */
+    public byte[] getOrRender(ResumeDTO resume, String template, Supplier<byte[]> renderer) {
+        if (!enabled) {
+            return renderer.get();
+        }
+
+        String key = keyFor(resume, template);
+        byte[] cached = lookup(key);
+        if (cached != null) {
+            return cached;
+        }
+
+        byte[] pdf = renderer.get();
+        store(key, resume.getId(), pdf);
+        return pdf;
+    }
+
+    /**
+     * Drops every cached render of the given resume.
+     */
+    public synchronized void invalidate(String resumeId) {
+        if (resumeId == null) {
+            return;
+        }
+        Set<String> keys = keysByResume.remove(resumeId);
+        if (keys == null) {
+            return;
+        }
+        for (String key : keys) {
+            resumeByKey.remove(key);
+            byte[] removed = memory.remove(key);
+            if (removed != null) {
+                memoryBytes -= removed.length;
+            }
+            removeFromDisk(key);
+        }
+    }
+
+    String keyFor(ResumeDTO resume, String template) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(canonicalMapper.writeValueAsBytes(resume));
+            digest.update((byte) 0);
+            digest.update(String.valueOf(template).getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (JsonProcessingException | NoSuchAlgorithmException e) {
+            throw new RuntimeException("Error computing PDF cache key", e);
+        }
+    }
+
+    private synchronized byte[] lookup(String key) {
+        byte[] pdf = memory.get(key);
+        if (pdf != null) {
+            return pdf;
+        }
+        if (diskPath == null || disk.get(key) == null) {
+            return null;
+        }
+        try {
+            pdf = Files.readAllBytes(diskPath.resolve(key + ".pdf"));
+        } catch (IOException e) {
+            log.warn("Failed to read cached PDF {}: {}", key, e.getMessage());
+            removeFromDisk(key);
+            return null;
+        }
+        // Promote back to memory; the disk copy is no longer needed
+        removeFromDisk(key);
+        putInMemory(key, pdf);
+        return pdf;
+    }
+
+    private synchronized void store(String key, String resumeId, byte[] pdf) {
+        if (pdf.length > maxMemoryBytes) {
+            return;
+        }
+        if (resumeId != null) {
+            keysByResume.computeIfAbsent(resumeId, id -> new HashSet<>()).add(key);
+            resumeByKey.put(key, resumeId);
+        }
+        putInMemory(key, pdf);
+    }
+
+    private void putInMemory(String key, byte[] pdf) {
+        byte[] previous = memory.put(key, pdf);
+        if (previous != null) {
+            memoryBytes -= previous.length;
+        }
+        memoryBytes += pdf.length;
+
+        Iterator<Map.Entry<String, byte[]>> it = memory.entrySet().iterator();
+        while (memoryBytes > maxMemoryBytes && it.hasNext()) {
+            Map.Entry<String, byte[]> eldest = it.next();
+            if (eldest.getKey().equals(key)) {
+                continue;
+            }
+            it.remove();
+            memoryBytes -= eldest.getValue().length;
+            spillToDisk(eldest.getKey(), eldest.getValue());
+        }
+    }
+
+    private void spillToDisk(String key, byte[] pdf) {
+        if (diskPath == null || pdf.length > maxDiskBytes) {
+            forget(key);
+            return;
+        }
+        try {
+            Files.write(diskPath.resolve(key + ".pdf"), pdf);
+        } catch (IOException e) {
+            log.warn("Failed to spill cached PDF {}: {}", key, e.getMessage());
+            forget(key);
+            return;
+        }
+        disk.put(key, (long) pdf.length);
+        diskBytes += pdf.length;
+
+        Iterator<Map.Entry<String, Long>> it = disk.entrySet().iterator();
+        while (diskBytes > maxDiskBytes && it.hasNext()) {
+            Map.Entry<String, Long> eldest = it.next();
+            it.remove();
+            diskBytes -= eldest.getValue();
+            deleteFile(eldest.getKey());
+            forget(eldest.getKey());
+        }
+    }
+
+    private void removeFromDisk(String key) {
+        Long size = disk.remove(key);
+        if (size != null) {
+            diskBytes -= size;
+            deleteFile(key);
+        }
+    }
+
+    private void deleteFile(String key) {
+        try {
+            Files.deleteIfExists(diskPath.resolve(key + ".pdf"));
+        } catch (IOException e) {
+            log.warn("Failed to delete cached PDF {}: {}", key, e.getMessage());
+        }
+    }
+
+    // Removes the resume index entry for a key that has left both tiers
+    private void forget(String key) {
+        String resumeId = resumeByKey.remove(key);
+        if (resumeId == null) {
+            return;
+        }
+        Set<String> keys = keysByResume.get(resumeId);
+        if (keys != null) {
+            keys.remove(key);
+            if (keys.isEmpty()) {
+                keysByResume.remove(resumeId);
+            }
+        }
+    }
+}
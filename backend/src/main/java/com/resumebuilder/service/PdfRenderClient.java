@@ -0,0 +1,169 @@
+package com.resumebuilder.service;
+
+import com.resumebuilder.exception.RenderBusyException;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Long-lived HTTP client for the local Puppeteer render service
+ * (scripts/generate-pdf.js). One client and one small executor are shared by
+ * all exports, so connections are kept alive and reused between requests.
+ */
+@Component
+@Slf4j
+public class PdfRenderClient {
+
+    @Value("${app.pdf.render.base-url:http://localhost:3000}")
+    private String baseUrl;
+
+    @Value("${app.pdf.render.connect-timeout-ms:2000}")
+    private long connectTimeoutMs;
+
+    @Value("${app.pdf.render.request-timeout-ms:30000}")
+    private long requestTimeoutMs;
+
+    @Value("${app.pdf.render.max-threads:4}")
+    private int maxThreads;
+
+    @Value("${app.pdf.render.max-retries:3}")
+    private int maxRetries;
+
+    @Value("${app.pdf.render.max-retry-wait-ms:5000}")
+    private long maxRetryWaitMs;
+
+    private ExecutorService executor;
+    private HttpClient client;
+    private URI generateUri;
+
+    @PostConstruct
+    void init() {
+        AtomicInteger threadCount = new AtomicInteger();
+        executor = Executors.newFixedThreadPool(Math.max(1, maxThreads), runnable -> {
+            Thread thread = new Thread(runnable, "pdf-render-http-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        // The Node service only speaks HTTP/1.1; skipping the h2c upgrade keeps
+        // pooled keep-alive connections usable for every request
+        client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofMillis(connectTimeoutMs))
+                .executor(executor)
+                .build();
+
+        generateUri = URI.create(baseUrl.replaceAll("/+$", "") + "/generate");
+        log.info("PDF render service at {}", generateUri);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Open PDF response from the render service. The body must be consumed or
+     * closed so the underlying connection goes back to the pool.
+     */
+    public record RenderStream(InputStream body, long contentLength) implements Closeable {
+        @Override
+        public void close() throws IOException {
+            body.close();
+        }
+    }
+
+    /**
+     * Renders the given HTML document and returns the PDF as a stream. When the
+     * render service answers 429/503 (pool and queue full) the request is retried
+     * after the advertised Retry-After, up to max-retries times.
+     */
+    public RenderStream open(String html) throws IOException, InterruptedException {
+        return send(HttpRequest.BodyPublishers.ofString(html, StandardCharsets.UTF_8), true);
+    }
+
+    /**
+     * Streams the HTML document straight into the render service without
+     * buffering it. The body cannot be replayed, so a busy render service is
+     * reported immediately instead of retried.
+     */
+    public RenderStream open(InputStream html, long contentLength) throws IOException, InterruptedException {
+        HttpRequest.BodyPublisher publisher = HttpRequest.BodyPublishers.ofInputStream(() -> html);
+        if (contentLength >= 0) {
+            // Known length lets the request go out without chunked encoding
+            publisher = HttpRequest.BodyPublishers.fromPublisher(publisher, contentLength);
+        }
+        return send(publisher, false);
+    }
+
+    private RenderStream send(HttpRequest.BodyPublisher body, boolean retry) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder()
+                .uri(generateUri)
+                .header("Content-Type", "text/plain")
+                .POST(body)
+                .timeout(Duration.ofMillis(requestTimeoutMs))
+                .build();
+
+        for (int attempt = 0; ; attempt++) {
+            HttpResponse<InputStream> response = client.send(request, HttpResponse.BodyHandlers.ofInputStream());
+            int status = response.statusCode();
+
+            if (status == 200) {
+                long length = response.headers().firstValueAsLong("Content-Length").orElse(-1);
+                return new RenderStream(response.body(), length);
+            }
+
+            // Try reading body for error
+            String errorBody;
+            try (InputStream in = response.body()) {
+                errorBody = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+            }
+
+            if (isBusy(status)) {
+                long waitMs = retryAfterMs(response);
+                if (!retry || attempt >= maxRetries) {
+                    throw new RenderBusyException("PDF render service is busy, try again shortly",
+                            Math.max(1, waitMs / 1000));
+                }
+                log.debug("PDF render service busy ({}), retrying in {} ms", status, waitMs);
+                Thread.sleep(waitMs);
+                continue;
+            }
+
+            throw new IOException("Puppeteer Service Failed: " + status + " - " + errorBody);
+        }
+    }
+
+    static boolean isBusy(int status) {
+        return status == 429 || status == 503;
+    }
+
+    // Retry-After in delta-seconds form, capped so a request never stalls too long
+    long retryAfterMs(HttpResponse<?> response) {
+        long waitMs = 1000;
+        String header = response.headers().firstValue("Retry-After").orElse(null);
+        if (header != null) {
+            try {
+                waitMs = Long.parseLong(header.trim()) * 1000;
+            } catch (NumberFormatException e) {
+                // HTTP-date form is not used by the render service; keep the default
+            }
+        }
+        return Math.min(Math.max(waitMs, 100), maxRetryWaitMs);
+    }
+}
@@ -0,0 +1,131 @@
+package com.resumebuilder.service;
+
+import com.resumebuilder.entity.AiProviderConfig;
+import com.resumebuilder.entity.ApiKey;
+import com.resumebuilder.entity.Template;
+import com.resumebuilder.repository.AiProviderConfigRepository;
+import com.resumebuilder.repository.ApiKeyRepository;
+import com.resumebuilder.repository.TemplateRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+/**
+ * Read-through cache of reference data that is read on most requests but only
+ * changes through the admin endpoints: templates, the active AI provider
+ * config and the active API keys per provider.
+ *
+ * Writers invalidate the affected region explicitly. Entries also expire
+ * after ttl-ms so changes made through another instance are picked up.
+ * Cached entities are detached and shared between callers: read them, never
+ * modify or save them.
+ */
+@Component
+@RequiredArgsConstructor
+public class ReferenceDataCache {
+
+    private static final String TEMPLATES = "templates";
+    private static final String AI_CONFIG = "aiConfig";
+    private static final String API_KEYS = "apiKeys";
+
+    private final TemplateRepository templateRepository;
+    private final AiProviderConfigRepository aiProviderConfigRepository;
+    private final ApiKeyRepository apiKeyRepository;
+
+    @Value("${app.reference-cache.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.reference-cache.ttl-ms:60000}")
+    private long ttlMillis;
+
+    private record Entry(Object value, long loadedAt) {
+    }
+
+    // region -> key -> entry
+    private final Map<String, Map<String, Entry>> regions = new HashMap<>();
+    private final Map<String, long[]> counters = new HashMap<>();
+    // Bumped on every invalidation so a load racing with it is not cached
+    private long generation;
+
+    public List<Template> templates() {
+        return get(TEMPLATES, "all", () -> List.copyOf(templateRepository.findAll()));
+    }
+
+    public Optional<AiProviderConfig> activeAiConfig() {
+        return get(AI_CONFIG, "active", aiProviderConfigRepository::findByActiveTrue);
+    }
+
+    /** Active keys of a provider, in priority order. */
+    public List<ApiKey> activeApiKeys(String provider) {
+        return get(API_KEYS, provider,
+                () -> List.copyOf(apiKeyRepository.findByProviderAndActiveOrderByPriorityAsc(provider, true)));
+    }
+
+    public void invalidateTemplates() {
+        invalidate(TEMPLATES);
+    }
+
+    public void invalidateAiConfig() {
+        invalidate(AI_CONFIG);
+    }
+
+    public void invalidateApiKeys() {
+        invalidate(API_KEYS);
+    }
+
+    public synchronized void invalidateAll() {
+        regions.clear();
+        generation++;
+    }
+
+    public synchronized Map<String, Object> stats() {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("enabled", enabled);
+        stats.put("ttlMs", ttlMillis);
+        counters.forEach((region, counts) -> stats.put(region, Map.of(
+                "hits", counts[0],
+                "misses", counts[1],
+                "entries", regions.getOrDefault(region, Map.of()).size())));
+        return stats;
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T get(String region, String key, Supplier<T> loader) {
+        if (!enabled) {
+            return loader.get();
+        }
+
+        long now = System.currentTimeMillis();
+        long loadGeneration;
+        synchronized (this) {
+            long[] counts = counters.computeIfAbsent(region, r -> new long[2]);
+            Entry entry = regions.getOrDefault(region, Map.of()).get(key);
+            if (entry != null && now - entry.loadedAt() < ttlMillis) {
+                counts[0]++;
+                return (T) entry.value();
+            }
+            counts[1]++;
+            loadGeneration = generation;
+        }
+
+        // Loaded outside the lock; concurrent misses just load twice
+        T value = loader.get();
+        synchronized (this) {
+            if (generation == loadGeneration) {
+                regions.computeIfAbsent(region, r -> new HashMap<>()).put(key, new Entry(value, now));
+            }
+        }
+        return value;
+    }
+
+    private synchronized void invalidate(String region) {
+        regions.remove(region);
+        generation++;
+    }
+}
@@ -11,11 +11,11 @@ import org.apache.poi.xwpf.usermodel.XWPFParagraph;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.MediaType;
 import org.springframework.stereotype.Service;
-import org.springframework.web.multipart.MultipartFile;
 import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.web.reactive.function.client.WebClientResponseException;
 import reactor.core.publisher.Mono;
 
+import java.io.ByteArrayInputStream;
 import java.io.InputStream;
 import java.util.*;
 import java.util.regex.Matcher;
@@ -36,23 +36,20 @@ public class ResumeParserService {
     @Value("${ai.api.model:llama-3.3-70b-versatile}")
     private String aiModel;
 
-    public ResumeParserService(WebClient.Builder webClientBuilder, ObjectMapper objectMapper, ApiKeyService apiKeyService) {
-        this.webClient = webClientBuilder
-            .codecs(configurer -> configurer.defaultCodecs().maxInMemorySize(10 * 1024 * 1024))
-            .build();
+    public ResumeParserService(WebClient aiWebClient, ObjectMapper objectMapper, ApiKeyService apiKeyService) {
+        this.webClient = aiWebClient;
         this.objectMapper = objectMapper;
         this.apiKeyService = apiKeyService;
     }
 
-    public ResumeDTO parseResume(MultipartFile file) {
+    public ResumeDTO parseResume(String filename, byte[] data) {
         String content;
-        String filename = file.getOriginalFilename();
         
         try {
             if (filename != null && filename.toLowerCase().endsWith(".pdf")) {
-                content = parsePdf(file.getInputStream());
+                content = parsePdf(new ByteArrayInputStream(data));
             } else if (filename != null && (filename.toLowerCase().endsWith(".docx") || filename.toLowerCase().endsWith(".doc"))) {
-                content = parseDocx(file.getInputStream());
+                content = parseDocx(new ByteArrayInputStream(data));
             } else {
                 throw new RuntimeException("Unsupported file format. Please upload PDF or DOCX.");
             }
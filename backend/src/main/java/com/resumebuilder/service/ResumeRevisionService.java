@@ -0,0 +1,303 @@
+package com.resumebuilder.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.NullNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.resumebuilder.dto.ResumeDTO;
+import com.resumebuilder.dto.ResumeRevisionDTO;
+import com.resumebuilder.entity.ResumeRevision;
+import com.resumebuilder.repository.ResumeRevisionRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Revision history of resumes. Every save is stored as a gzip'd delta against
+ * the previous revision; every snapshot-interval revisions (or when the delta
+ * would not be smaller) the whole document is stored instead. Reading a
+ * revision starts at the snapshot before it and applies at most
+ * snapshot-interval - 1 deltas.
+ *
+ * A delta is a JSON merge patch (RFC 7386): changed fields with their new
+ * value, removed fields as null, nested objects as nested patches. Arrays
+ * are patched by index rather than replaced, as {"~len": n, "<index>":
+ * patch, ...}, so editing one bullet of one job stores only that bullet.
+ *
+ * History is best effort: a failure to record a revision is logged and never
+ * fails the save itself.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ResumeRevisionService {
+
+    private static final String LENGTH = "~len";
+
+    private final ResumeRevisionRepository repository;
+    private final ObjectMapper objectMapper;
+
+    @Value("${app.resume.revisions.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.resume.revisions.snapshot-interval:20}")
+    private int snapshotInterval;
+
+    // Snapshots (with their deltas) kept per resume; older revisions are dropped. 0 keeps all
+    @Value("${app.resume.revisions.retained-snapshots:10}")
+    private int retainedSnapshots;
+
+    /** Records the saved state of a resume as its next revision, unless nothing changed. */
+    public void record(String resumeId, String userId, ResumeDTO state) {
+        if (!enabled) {
+            return;
+        }
+        try {
+            JsonNode document = toDocument(state);
+            ResumeRevision latest = repository.findTopByResumeIdOrderByRevisionDesc(resumeId).orElse(null);
+
+            ResumeRevision revision = new ResumeRevision();
+            revision.setResumeId(resumeId);
+            revision.setUserId(userId);
+
+            byte[] snapshot = compress(document);
+            if (latest == null) {
+                revision.setRevision(1);
+                revision.setSnapshot(true);
+                revision.setData(snapshot);
+            } else {
+                Chain previous = reconstruct(resumeId, latest.getRevision());
+                if (previous.document().equals(document)) {
+                    return;
+                }
+                byte[] delta = compress(diff(previous.document(), document));
+                int next = latest.getRevision() + 1;
+                boolean full = next - previous.snapshotRevision() >= snapshotInterval || delta.length >= snapshot.length;
+                revision.setRevision(next);
+                revision.setSnapshot(full);
+                revision.setData(full ? snapshot : delta);
+            }
+            revision.setSize(revision.getData().length);
+            repository.save(revision);
+
+            if (revision.isSnapshot()) {
+                prune(resumeId);
+            }
+        } catch (RuntimeException e) {
+            log.warn("Could not record revision of resume {}: {}", resumeId, e.getMessage());
+        }
+    }
+
+    public List<ResumeRevisionDTO.Summary> list(String resumeId, String userId) {
+        return repository.findByResumeIdAndUserIdOrderByRevisionDesc(resumeId, userId).stream()
+                .map(view -> new ResumeRevisionDTO.Summary(
+                        view.getRevision(), view.getCreatedAt(), view.isSnapshot(), view.getSize()))
+                .toList();
+    }
+
+    /** The resume as it was at a revision; id is set, version is not. */
+    public ResumeDTO load(String resumeId, int revision, String userId) {
+        JsonNode document = reconstruct(resumeId, revision, userId);
+        try {
+            ResumeDTO dto = objectMapper.treeToValue(document, ResumeDTO.class);
+            dto.setId(resumeId);
+            return dto;
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Unreadable revision " + revision + " of resume " + resumeId, e);
+        }
+    }
+
+    /** Every value that differs between two revisions. */
+    public ResumeRevisionDTO.Diff diff(String resumeId, int from, int to, String userId) {
+        List<ResumeRevisionDTO.Change> changes = new ArrayList<>();
+        collectChanges(reconstruct(resumeId, from, userId), reconstruct(resumeId, to, userId), "", changes);
+        return new ResumeRevisionDTO.Diff(from, to, changes);
+    }
+
+    public void deleteAll(String resumeId) {
+        repository.deleteByResume(resumeId);
+    }
+
+    private JsonNode reconstruct(String resumeId, int revision, String userId) {
+        ResumeRevision start = repository
+                .findTopByResumeIdAndSnapshotTrueAndRevisionLessThanEqualOrderByRevisionDesc(resumeId, revision)
+                .filter(snapshot -> snapshot.getUserId().equals(userId))
+                .orElseThrow(() -> new RuntimeException("Revision not found: " + resumeId + "@" + revision));
+        return reconstruct(resumeId, start, revision).document();
+    }
+
+    private Chain reconstruct(String resumeId, int revision) {
+        ResumeRevision start = repository
+                .findTopByResumeIdAndSnapshotTrueAndRevisionLessThanEqualOrderByRevisionDesc(resumeId, revision)
+                .orElseThrow(() -> new IllegalStateException("No snapshot before revision " + revision));
+        return reconstruct(resumeId, start, revision);
+    }
+
+    private Chain reconstruct(String resumeId, ResumeRevision start, int revision) {
+        List<ResumeRevision> chain = repository.findByResumeIdAndRevisionBetweenOrderByRevision(
+                resumeId, start.getRevision(), revision);
+        if (chain.size() != revision - start.getRevision() + 1) {
+            throw new RuntimeException("Revision not found: " + resumeId + "@" + revision);
+        }
+        JsonNode document = decompress(chain.get(0).getData());
+        for (ResumeRevision delta : chain.subList(1, chain.size())) {
+            document = apply(document, decompress(delta.getData()));
+        }
+        return new Chain(document, start.getRevision());
+    }
+
+    private record Chain(JsonNode document, int snapshotRevision) {
+    }
+
+    // Keeps the newest retainedSnapshots snapshots and the deltas after them
+    private void prune(String resumeId) {
+        if (retainedSnapshots <= 0) {
+            return;
+        }
+        List<Integer> snapshots = repository.findSnapshotRevisions(resumeId);
+        if (snapshots.size() > retainedSnapshots) {
+            repository.deleteBefore(resumeId, snapshots.get(retainedSnapshots - 1));
+        }
+    }
+
+    private JsonNode toDocument(ResumeDTO state) {
+        ObjectNode document = objectMapper.valueToTree(state);
+        document.remove(List.of("id", "version"));
+        stripNulls(document);
+        return document;
+    }
+
+    // Absent and null mean the same in a merge patch, so documents never hold null fields
+    private static void stripNulls(JsonNode node) {
+        if (node.isObject()) {
+            Iterator<Map.Entry<String, JsonNode>> fields = node.fields();
+            while (fields.hasNext()) {
+                JsonNode value = fields.next().getValue();
+                if (value.isNull()) {
+                    fields.remove();
+                } else {
+                    stripNulls(value);
+                }
+            }
+        } else if (node.isArray()) {
+            node.forEach(ResumeRevisionService::stripNulls);
+        }
+    }
+
+    private ObjectNode diff(JsonNode from, JsonNode to) {
+        ObjectNode patch = objectMapper.createObjectNode();
+        from.fieldNames().forEachRemaining(field -> {
+            if (!to.has(field)) {
+                patch.set(field, NullNode.getInstance());
+            }
+        });
+        to.fields().forEachRemaining(field -> {
+            JsonNode old = from.get(field.getKey());
+            if (!field.getValue().equals(old)) {
+                patch.set(field.getKey(), diffValue(old, field.getValue()));
+            }
+        });
+        return patch;
+    }
+
+    private JsonNode diffValue(JsonNode from, JsonNode to) {
+        if (from != null && from.isObject() && to.isObject()) {
+            return diff(from, to);
+        }
+        if (from != null && from.isArray() && to.isArray()) {
+            ObjectNode patch = objectMapper.createObjectNode();
+            patch.put(LENGTH, to.size());
+            for (int i = 0; i < to.size(); i++) {
+                JsonNode old = i < from.size() ? from.get(i) : null;
+                if (!to.get(i).equals(old)) {
+                    patch.set(Integer.toString(i), diffValue(old, to.get(i)));
+                }
+            }
+            // An insertion near the front shifts every element; then the array itself is smaller
+            return patch.toString().length() < to.toString().length() ? patch : to;
+        }
+        return to;
+    }
+
+    private static JsonNode apply(JsonNode target, JsonNode patch) {
+        if (patch.isObject() && target != null && target.isArray() && patch.has(LENGTH)) {
+            ArrayNode result = ((ArrayNode) target).arrayNode();
+            int length = patch.get(LENGTH).asInt();
+            for (int i = 0; i < length; i++) {
+                JsonNode element = i < target.size() ? target.get(i) : null;
+                JsonNode elementPatch = patch.get(Integer.toString(i));
+                result.add(elementPatch != null ? apply(element, elementPatch) : element);
+            }
+            return result;
+        }
+        if (patch.isObject() && target != null && target.isObject()) {
+            ObjectNode result = (ObjectNode) target;
+            patch.fields().forEachRemaining(field -> {
+                if (field.getValue().isNull()) {
+                    result.remove(field.getKey());
+                } else {
+                    result.set(field.getKey(), apply(result.get(field.getKey()), field.getValue()));
+                }
+            });
+            return result;
+        }
+        return patch.deepCopy();
+    }
+
+    private static void collectChanges(JsonNode from, JsonNode to, String path, List<ResumeRevisionDTO.Change> changes) {
+        if (from != null && to != null && from.equals(to)) {
+            return;
+        }
+        if (from != null && to != null && from.isObject() && to.isObject()) {
+            Set<String> fields = new LinkedHashSet<>();
+            from.fieldNames().forEachRemaining(fields::add);
+            to.fieldNames().forEachRemaining(fields::add);
+            for (String field : fields) {
+                String escaped = field.replace("~", "~0").replace("/", "~1");
+                collectChanges(from.get(field), to.get(field), path + "/" + escaped, changes);
+            }
+        } else if (from != null && to != null && from.isArray() && to.isArray()) {
+            for (int i = 0; i < Math.max(from.size(), to.size()); i++) {
+                collectChanges(from.get(i), to.get(i), path + "/" + i, changes);
+            }
+        } else {
+            changes.add(new ResumeRevisionDTO.Change(path, from, to));
+        }
+    }
+
+    private byte[] compress(JsonNode node) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (OutputStream out = new GZIPOutputStream(bytes)) {
+            objectMapper.writeValue(out, node);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    private JsonNode decompress(byte[] data) {
+        try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(data))) {
+            return objectMapper.readTree(in);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -1,51 +1,453 @@
 package com.resumebuilder.service;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.resumebuilder.dto.ResumeDTO;
+import com.resumebuilder.dto.ResumeListDTO;
+import com.resumebuilder.dto.ResumeRevisionDTO;
 import com.resumebuilder.entity.Resume;
 import com.resumebuilder.repository.ResumeRepository;
+import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
+@Slf4j
 public class ResumeService {
 
     private final ResumeRepository repository;
+    private final PdfRenderCache pdfRenderCache;
     private final ObjectMapper objectMapper;
+    private final AutosaveBuffer autosaveBuffer;
+    private final PlatformTransactionManager transactionManager;
+    private final ResumeRevisionService revisions;
+
+    private static final int MAX_PAGE_SIZE = 100;
+
+    private static final int LOCK_STRIPES = 64;
+
+    // Per-resume locks (striped by id): serialize flushes of a resume with its
+    // buffered patches and direct saves, so a patch never reads a version that
+    // an in-flight flush or save is about to bump. Other resumes don't wait.
+    private final ReentrantLock[] locks = Stream.generate(ReentrantLock::new)
+            .limit(LOCK_STRIPES)
+            .toArray(ReentrantLock[]::new);
 
     public ResumeDTO create(ResumeDTO dto, String userId) {
         Resume resume = toEntity(dto);
         resume.setUserId(userId);
         resume = repository.save(resume);
-        return toDTO(resume);
+        ResumeDTO saved = toDTO(resume);
+        revisions.record(saved.getId(), userId, saved);
+        return saved;
     }
 
     public ResumeDTO update(String id, ResumeDTO dto, String userId) {
-        Resume existing = repository.findByIdAndUserId(id, userId)
-                .orElseThrow(() -> new RuntimeException("Resume not found or access denied: " + id));
+        return saveLocked(id, userId, false, existing -> {
+            checkVersion(existing, dto.getVersion());
+            updateEntity(existing, dto);
+        });
+    }
+
+    /**
+     * Puts the resume back to an earlier revision. The restore is itself saved
+     * as a new revision, so it can be undone the same way.
+     */
+    public ResumeDTO restore(String id, int revision, String userId) {
+        ResumeDTO restored = revisions.load(id, revision, userId);
+        return saveLocked(id, userId, false, existing -> updateEntity(existing, restored));
+    }
+
+    public List<ResumeRevisionDTO.Summary> getRevisions(String id, String userId) {
+        flushPending(id);
+        return revisions.list(id, userId);
+    }
+
+    /**
+     * Loads, changes and saves a resume under its lock, after writing its
+     * buffered autosaves, so the version check sees what the autosaves
+     * promised and no autosave can slip in between check and save.
+     * reportConflict makes a lost autosave fail this save with 409.
+     * Revisions are recorded under the lock as well, so they are numbered in
+     * the order the saves happened.
+     */
+    private ResumeDTO saveLocked(String id, String userId, boolean reportConflict, Consumer<Resume> change) {
+        List<Resume> written = new ArrayList<>();
+        ReentrantLock lock = lockFor(id);
+        lock.lock();
+        try {
+            AutosaveBuffer.Pending pending = autosaveBuffer.take(id);
+            if (pending != null) {
+                written.addAll(write(List.of(pending)));
+            }
+            if (reportConflict) {
+                reportConflict(id, userId);
+            }
+            Resume existing = repository.findByIdAndUserId(id, userId)
+                    .orElseThrow(() -> new RuntimeException("Resume not found or access denied: " + id));
+            change.accept(existing);
+
+            Resume resume = repository.saveAndFlush(existing);
+            pdfRenderCache.invalidate(resume.getId());
+            written.add(resume);
+            record(written);
+        } finally {
+            lock.unlock();
+        }
+        return toDTO(written.get(written.size() - 1));
+    }
+
+    // An autosave of this resume was lost; tell the client once, so it reloads
+    private void reportConflict(String id, String userId) {
+        if (autosaveBuffer.takeConflict(id, userId)) {
+            throw new ObjectOptimisticLockingFailureException(Resume.class, id);
+        }
+    }
+
+    /**
+     * Applies only the fields present in the patch object, e.g.
+     * {"version": 3, "skills": [...]}. Sections are replaced as a whole; a null
+     * section clears it. Untouched columns are not written (@DynamicUpdate).
+     *
+     * @throws IllegalArgumentException for unknown fields or invalid values
+     */
+    public ResumeDTO patch(String id, JsonNode patch, String userId) {
+        if (patch == null || !patch.isObject()) {
+            throw new IllegalArgumentException("Patch must be a JSON object");
+        }
+        Long expected = version(patch);
+        return saveLocked(id, userId, true, existing -> {
+            checkVersion(existing, expected);
+            applyFields(existing, patch);
+        });
+    }
+
+    /**
+     * Autosave variant of {@link #patch}: the patch is validated and merged
+     * into the {@link AutosaveBuffer} instead of being written, so a burst of
+     * autosaves costs one write. Returns the version the resume will have once
+     * the buffered changes are written, which the client sends with its next
+     * patch. Writes through when buffering is off or the buffer is full.
+     */
+    public long patchBuffered(String id, JsonNode patch, String userId) {
+        if (!autosaveBuffer.isEnabled()) {
+            return patch(id, patch, userId).getVersion();
+        }
+        if (patch == null || !patch.isObject()) {
+            throw new IllegalArgumentException("Patch must be a JSON object");
+        }
+        // Reject bad fields now rather than at flush time
+        applyFields(new Resume(), patch);
+
+        Long expected = version(patch);
+        ObjectNode fields = ((ObjectNode) patch).deepCopy();
+        fields.remove(List.of("version", "id"));
+
+        ReentrantLock lock = lockFor(id);
+        lock.lock();
+        try {
+            reportConflict(id, userId);
+            AutosaveBuffer.Pending pending = autosaveBuffer.get(id);
+            long baseVersion;
+            if (pending != null) {
+                if (!pending.userId().equals(userId)) {
+                    throw new RuntimeException("Resume not found or access denied: " + id);
+                }
+                baseVersion = pending.baseVersion();
+                if (expected != null && expected != baseVersion + 1) {
+                    throw new ObjectOptimisticLockingFailureException(Resume.class, id);
+                }
+            } else {
+                baseVersion = repository.findVersion(id, userId)
+                        .orElseThrow(() -> new RuntimeException("Resume not found or access denied: " + id));
+                if (expected != null && expected != baseVersion) {
+                    throw new ObjectOptimisticLockingFailureException(Resume.class, id);
+                }
+                if (fields.isEmpty()) {
+                    return baseVersion;
+                }
+            }
+
+            if (autosaveBuffer.add(id, userId, baseVersion, fields)) {
+                return baseVersion + 1;
+            }
+        } finally {
+            lock.unlock();
+        }
+        // Buffer full
+        return patch(id, patch, userId).getVersion();
+    }
+
+    @Scheduled(fixedDelayString = "${app.autosave.buffer.flush-interval-ms:500}")
+    public void flushDue() {
+        flush(autosaveBuffer::isDue);
+    }
+
+    @PreDestroy
+    public void flushAll() {
+        flush(entry -> true);
+    }
+
+    // Reads must see buffered autosaves, so they flush the resume first
+    private void flushPending(String id) {
+        if (autosaveBuffer.get(id) != null) {
+            flush(entry -> entry.resumeId().equals(id));
+        }
+    }
+
+    private void flushPendingForUser(String userId) {
+        flush(entry -> entry.userId().equals(userId));
+    }
+
+    /**
+     * Writes the matching buffered patches, one lock stripe at a time, so a
+     * flush only holds up the resumes it is writing. Revisions are recorded
+     * before the stripe's lock is released.
+     */
+    private void flush(Predicate<AutosaveBuffer.Pending> condition) {
+        Set<Integer> stripes = new TreeSet<>();
+        for (String id : autosaveBuffer.resumeIds(condition)) {
+            stripes.add(stripe(id));
+        }
+        for (int stripe : stripes) {
+            ReentrantLock lock = locks[stripe];
+            lock.lock();
+            try {
+                record(write(autosaveBuffer.takeIf(
+                        entry -> stripe(entry.resumeId()) == stripe && condition.test(entry))));
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    /**
+     * Writes buffered patches in one transaction; the caller holds their
+     * locks. If that fails (typically an optimistic lock conflict on one
+     * resume) each entry is retried on its own so one bad entry doesn't lose
+     * the others. An entry that still fails is not silently dropped: it leaves
+     * a conflict marker that the next load or patch of the resume reports as
+     * 409.
+     */
+    private List<Resume> write(List<AutosaveBuffer.Pending> batch) {
+        List<Resume> written = new ArrayList<>();
+        if (batch.isEmpty()) {
+            return written;
+        }
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        try {
+            written.addAll(transaction.execute(status -> writePending(batch)));
+        } catch (RuntimeException e) {
+            for (AutosaveBuffer.Pending entry : batch) {
+                try {
+                    written.addAll(transaction.execute(status -> writePending(List.of(entry))));
+                } catch (RuntimeException entryError) {
+                    log.warn("Could not write autosave of resume {} ({} patches), reporting a conflict: {}",
+                            entry.resumeId(), entry.merged(), entryError.getMessage());
+                    autosaveBuffer.markConflict(entry);
+                }
+            }
+        }
+        batch.forEach(entry -> pdfRenderCache.invalidate(entry.resumeId()));
+        return written;
+    }
+
+    private void record(List<Resume> written) {
+        for (Resume resume : written) {
+            revisions.record(resume.getId(), resume.getUserId(), toDTO(resume));
+        }
+    }
+
+    private ReentrantLock lockFor(String id) {
+        return locks[stripe(id)];
+    }
+
+    private static int stripe(String id) {
+        return Math.floorMod(id.hashCode(), LOCK_STRIPES);
+    }
+
+    private List<Resume> writePending(List<AutosaveBuffer.Pending> batch) {
+        Map<String, Resume> resumes = new HashMap<>();
+        for (Resume resume : repository.findAllById(batch.stream().map(AutosaveBuffer.Pending::resumeId).toList())) {
+            resumes.put(resume.getId(), resume);
+        }
+        List<Resume> written = new ArrayList<>();
+        for (AutosaveBuffer.Pending entry : batch) {
+            Resume resume = resumes.get(entry.resumeId());
+            if (resume == null) {
+                continue; // deleted meanwhile
+            }
+            if (!Objects.equals(resume.getVersion(), entry.baseVersion())) {
+                throw new ObjectOptimisticLockingFailureException(Resume.class, entry.resumeId());
+            }
+            applyFields(resume, entry.patch());
+            // Always dirty, so the version moves by exactly one as promised to the client
+            resume.setUpdatedAt(LocalDateTime.now());
+            written.add(resume);
+        }
+        return written;
+    }
 
-        updateEntity(existing, dto);
-        existing = repository.save(existing);
-        return toDTO(existing);
+    private void applyFields(Resume resume, JsonNode patch) {
+        Iterator<Map.Entry<String, JsonNode>> fields = patch.fields();
+        while (fields.hasNext()) {
+            Map.Entry<String, JsonNode> field = fields.next();
+            applyField(resume, field.getKey(), field.getValue());
+        }
+    }
+
+    // Missing or null means no check; anything else must be a whole number, or the patch is rejected
+    private static Long version(JsonNode patch) {
+        JsonNode version = patch.get("version");
+        if (version == null || version.isNull()) {
+            return null;
+        }
+        if (version.isIntegralNumber() && version.canConvertToLong()) {
+            return version.asLong();
+        }
+        throw new IllegalArgumentException("Invalid version: " + version);
+    }
+
+    private void applyField(Resume resume, String field, JsonNode value) {
+        switch (field) {
+            case "version", "id" -> { }
+            case "fullName" -> {
+                String fullName = text(value);
+                if (fullName == null || fullName.isBlank()) {
+                    throw new IllegalArgumentException("Full name is required");
+                }
+                resume.setFullName(fullName);
+            }
+            case "email" -> resume.setEmail(text(value));
+            case "phone" -> resume.setPhone(text(value));
+            case "location" -> resume.setLocation(text(value));
+            case "linkedIn" -> resume.setLinkedIn(text(value));
+            case "github" -> resume.setGithub(text(value));
+            case "website" -> resume.setWebsite(text(value));
+            case "summary" -> resume.setSummary(text(value));
+            case "template" -> resume.setTemplate(value.isNull() ? "modern" : value.asText());
+            case "experience" -> resume.setExperience(map(section(value, ResumeDTO.Experience.class), ResumeService::toEntity));
+            case "education" -> resume.setEducation(map(section(value, ResumeDTO.Education.class), ResumeService::toEntity));
+            case "skills" -> resume.setSkills(section(value, String.class));
+            case "projects" -> resume.setProjects(map(section(value, ResumeDTO.Project.class), ResumeService::toEntity));
+            case "certifications" -> resume.setCertifications(section(value, String.class));
+            default -> throw new IllegalArgumentException("Unknown field: " + field);
+        }
+    }
+
+    private static String text(JsonNode value) {
+        return value.isNull() ? null : value.asText();
+    }
+
+    private <T> List<T> section(JsonNode value, Class<T> type) {
+        if (value.isNull()) {
+            return null;
+        }
+        if (!value.isArray()) {
+            throw new IllegalArgumentException("Section must be an array");
+        }
+        return objectMapper.convertValue(value,
+                objectMapper.getTypeFactory().constructCollectionType(List.class, type));
+    }
+
+    // A null version skips the check, for clients that don't track it
+    private static void checkVersion(Resume resume, Long expected) {
+        if (expected != null && !expected.equals(resume.getVersion())) {
+            throw new ObjectOptimisticLockingFailureException(Resume.class, resume.getId());
+        }
     }
 
     public ResumeDTO getById(String id, String userId) {
+        flushPending(id);
+        reportConflict(id, userId);
         Resume resume = repository.findByIdAndUserId(id, userId)
                 .orElseThrow(() -> new RuntimeException("Resume not found or access denied: " + id));
         return toDTO(resume);
     }
 
-    public List<ResumeDTO> getAllByUser(String userId) {
-        return repository.findByUserIdOrderByUpdatedAtDesc(userId)
+    /**
+     * Loads the given resumes with a single query, keyed by id. Fails if any of
+     * them is missing or belongs to another user.
+     */
+    public Map<String, ResumeDTO> getByIds(Collection<String> ids, String userId) {
+        ids.forEach(this::flushPending);
+        Map<String, ResumeDTO> resumes = new HashMap<>();
+        for (Resume resume : repository.findByIdInAndUserId(ids, userId)) {
+            resumes.put(resume.getId(), toDTO(resume));
+        }
+        for (String id : ids) {
+            if (!resumes.containsKey(id)) {
+                throw new RuntimeException("Resume not found or access denied: " + id);
+            }
+        }
+        return resumes;
+    }
+
+    /** The user's resumes listing the given skill (case-insensitive), newest first. */
+    public List<ResumeDTO> findBySkill(String skill, String userId) {
+        flushPendingForUser(userId);
+        return repository.findByUserIdAndSkill(userId, skill.trim())
                 .stream()
                 .map(this::toDTO)
                 .toList();
     }
 
+    /**
+     * One page of the user's resume summaries, newest first. The cursor is the
+     * nextCursor of the previous page, or null for the first page.
+     */
+    public ResumeListDTO.Page getSummariesByUser(String userId, String cursor, int limit) {
+        flushPendingForUser(userId);
+        int pageSize = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        // One extra row tells us whether there is a next page
+        List<ResumeRepository.SummaryView> rows;
+        if (cursor == null || cursor.isEmpty()) {
+            rows = repository.findSummaries(userId, pageSize + 1);
+        } else {
+            Cursor after = Cursor.decode(cursor);
+            rows = repository.findSummariesAfter(userId, after.updatedAt(), after.id(), pageSize + 1);
+        }
+
+        boolean hasMore = rows.size() > pageSize;
+        List<ResumeListDTO.Summary> items = rows.stream()
+                .limit(pageSize)
+                .map(ResumeService::toSummary)
+                .toList();
+        String nextCursor = null;
+        if (hasMore) {
+            ResumeListDTO.Summary last = items.get(items.size() - 1);
+            nextCursor = new Cursor(last.getUpdatedAt(), last.getId()).encode();
+        }
+        return new ResumeListDTO.Page(items, nextCursor);
+    }
+
     // Keep this for backward compatibility (internal use only)
     public List<ResumeDTO> getAll() {
         return repository.findAllByOrderByUpdatedAtDesc()
@@ -58,16 +460,21 @@ public class ResumeService {
         if (!repository.existsByIdAndUserId(id, userId)) {
             throw new RuntimeException("Resume not found or access denied: " + id);
         }
+        autosaveBuffer.discard(id); // pending autosaves of a deleted resume are moot
         repository.deleteById(id);
+        revisions.deleteAll(id);
+        pdfRenderCache.invalidate(id);
     }
 
     public Resume getEntityById(String id, String userId) {
+        flushPending(id);
         return repository.findByIdAndUserId(id, userId)
                 .orElseThrow(() -> new RuntimeException("Resume not found or access denied: " + id));
     }
     
     // Internal method for PDF service
     public Resume getEntityById(String id) {
+        flushPending(id);
         return repository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Resume not found: " + id));
     }
@@ -89,14 +496,47 @@ public class ResumeService {
         resume.setSummary(dto.getSummary());
         resume.setTemplate(dto.getTemplate() != null ? dto.getTemplate() : "modern");
 
-        try {
-            resume.setExperience(objectMapper.writeValueAsString(dto.getExperience()));
-            resume.setEducation(objectMapper.writeValueAsString(dto.getEducation()));
-            resume.setSkills(objectMapper.writeValueAsString(dto.getSkills()));
-            resume.setProjects(objectMapper.writeValueAsString(dto.getProjects()));
-            resume.setCertifications(objectMapper.writeValueAsString(dto.getCertifications()));
-        } catch (JsonProcessingException e) {
-            throw new RuntimeException("Error serializing resume data", e);
+        resume.setExperience(map(dto.getExperience(), ResumeService::toEntity));
+        resume.setEducation(map(dto.getEducation(), ResumeService::toEntity));
+        resume.setSkills(dto.getSkills());
+        resume.setProjects(map(dto.getProjects(), ResumeService::toEntity));
+        resume.setCertifications(dto.getCertifications());
+    }
+
+    private static ResumeListDTO.Summary toSummary(ResumeRepository.SummaryView row) {
+        ResumeListDTO.Summary summary = new ResumeListDTO.Summary();
+        summary.setId(row.getId());
+        summary.setFullName(row.getFullName());
+        summary.setEmail(row.getEmail());
+        summary.setTemplate(row.getTemplate());
+        summary.setUpdatedAt(row.getUpdatedAt());
+        summary.setTopSkills(Stream.of(row.getSkill1(), row.getSkill2(), row.getSkill3())
+                .filter(Objects::nonNull)
+                .toList());
+        summary.setSkillCount(row.getSkillCount());
+        summary.setExperienceCount(row.getExperienceCount());
+        summary.setEducationCount(row.getEducationCount());
+        summary.setProjectCount(row.getProjectCount());
+        summary.setCertificationCount(row.getCertificationCount());
+        return summary;
+    }
+
+    /** Position in the (updatedAt, id) ordering, opaque to clients. */
+    private record Cursor(LocalDateTime updatedAt, String id) {
+
+        String encode() {
+            String raw = updatedAt + "|" + id;
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+        }
+
+        static Cursor decode(String cursor) {
+            try {
+                String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+                int separator = raw.indexOf('|');
+                return new Cursor(LocalDateTime.parse(raw.substring(0, separator)), raw.substring(separator + 1));
+            } catch (IllegalArgumentException | DateTimeParseException | StringIndexOutOfBoundsException e) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
         }
     }
 
@@ -112,30 +552,116 @@ public class ResumeService {
         dto.setWebsite(resume.getWebsite());
         dto.setSummary(resume.getSummary());
         dto.setTemplate(resume.getTemplate());
+        dto.setVersion(resume.getVersion());
 
-        try {
-            dto.setExperience(parseList(resume.getExperience(), ResumeDTO.Experience.class));
-            dto.setEducation(parseList(resume.getEducation(), ResumeDTO.Education.class));
-            dto.setSkills(parseStringList(resume.getSkills()));
-            dto.setProjects(parseList(resume.getProjects(), ResumeDTO.Project.class));
-            dto.setCertifications(parseStringList(resume.getCertifications()));
-        } catch (JsonProcessingException e) {
-            throw new RuntimeException("Error deserializing resume data", e);
-        }
+        dto.setExperience(orEmpty(map(resume.getExperience(), ResumeService::toDTO)));
+        dto.setEducation(orEmpty(map(resume.getEducation(), ResumeService::toDTO)));
+        dto.setSkills(orEmpty(resume.getSkills()));
+        dto.setProjects(orEmpty(map(resume.getProjects(), ResumeService::toDTO)));
+        dto.setCertifications(orEmpty(resume.getCertifications()));
 
         return dto;
     }
 
-    private <T> List<T> parseList(String json, Class<T> clazz) throws JsonProcessingException {
-        if (json == null || json.equals("null")) return List.of();
-        return objectMapper.readValue(json,
-                objectMapper.getTypeFactory().constructCollectionType(List.class, clazz));
+    private static <T> List<T> orEmpty(List<T> list) {
+        return list != null ? list : List.of();
     }
 
-    private List<String> parseStringList(String json) throws JsonProcessingException {
-        if (json == null || json.equals("null")) return List.of();
-        return objectMapper.readValue(json,
-                objectMapper.getTypeFactory().constructCollectionType(List.class, String.class));
+    private static <S, T> List<T> map(List<S> list, Function<S, T> mapper) {
+        return list != null ? list.stream().map(mapper).collect(Collectors.toCollection(ArrayList::new)) : null;
     }
-}
 
+    // Section entries: the API shape (ResumeDTO) and the stored shape (Resume) are mapped field by field
+
+    private static Resume.Experience toEntity(ResumeDTO.Experience dto) {
+        Resume.Experience experience = new Resume.Experience();
+        experience.setCompany(dto.getCompany());
+        experience.setPosition(dto.getPosition());
+        experience.setLocation(dto.getLocation());
+        experience.setStartDate(dto.getStartDate());
+        experience.setEndDate(dto.getEndDate());
+        experience.setDescription(dto.getDescription());
+        experience.setHighlights(dto.getHighlights());
+        experience.setServiceBased(dto.isServiceBased());
+        experience.setClientProjects(map(dto.getClientProjects(), ResumeService::toEntity));
+        return experience;
+    }
+
+    private static ResumeDTO.Experience toDTO(Resume.Experience experience) {
+        ResumeDTO.Experience dto = new ResumeDTO.Experience();
+        dto.setCompany(experience.getCompany());
+        dto.setPosition(experience.getPosition());
+        dto.setLocation(experience.getLocation());
+        dto.setStartDate(experience.getStartDate());
+        dto.setEndDate(experience.getEndDate());
+        dto.setDescription(experience.getDescription());
+        dto.setHighlights(experience.getHighlights());
+        dto.setServiceBased(experience.isServiceBased());
+        dto.setClientProjects(map(experience.getClientProjects(), ResumeService::toDTO));
+        return dto;
+    }
+
+    private static Resume.ClientProject toEntity(ResumeDTO.ClientProject dto) {
+        Resume.ClientProject client = new Resume.ClientProject();
+        client.setClientName(dto.getClientName());
+        client.setProjectName(dto.getProjectName());
+        client.setRole(dto.getRole());
+        client.setStartDate(dto.getStartDate());
+        client.setEndDate(dto.getEndDate());
+        client.setDescription(dto.getDescription());
+        client.setHighlights(dto.getHighlights());
+        return client;
+    }
+
+    private static ResumeDTO.ClientProject toDTO(Resume.ClientProject client) {
+        ResumeDTO.ClientProject dto = new ResumeDTO.ClientProject();
+        dto.setClientName(client.getClientName());
+        dto.setProjectName(client.getProjectName());
+        dto.setRole(client.getRole());
+        dto.setStartDate(client.getStartDate());
+        dto.setEndDate(client.getEndDate());
+        dto.setDescription(client.getDescription());
+        dto.setHighlights(client.getHighlights());
+        return dto;
+    }
+
+    private static Resume.Education toEntity(ResumeDTO.Education dto) {
+        Resume.Education education = new Resume.Education();
+        education.setInstitution(dto.getInstitution());
+        education.setDegree(dto.getDegree());
+        education.setField(dto.getField());
+        education.setStartDate(dto.getStartDate());
+        education.setEndDate(dto.getEndDate());
+        education.setGpa(dto.getGpa());
+        return education;
+    }
+
+    private static ResumeDTO.Education toDTO(Resume.Education education) {
+        ResumeDTO.Education dto = new ResumeDTO.Education();
+        dto.setInstitution(education.getInstitution());
+        dto.setDegree(education.getDegree());
+        dto.setField(education.getField());
+        dto.setStartDate(education.getStartDate());
+        dto.setEndDate(education.getEndDate());
+        dto.setGpa(education.getGpa());
+        return dto;
+    }
+
+    private static Resume.Project toEntity(ResumeDTO.Project dto) {
+        Resume.Project project = new Resume.Project();
+        project.setName(dto.getName());
+        project.setDescription(dto.getDescription());
+        project.setUrl(dto.getUrl());
+        project.setTechnologies(dto.getTechnologies());
+        return project;
+    }
+
+    private static ResumeDTO.Project toDTO(Resume.Project project) {
+        ResumeDTO.Project dto = new ResumeDTO.Project();
+        dto.setName(project.getName());
+        dto.setDescription(project.getDescription());
+        dto.setUrl(project.getUrl());
+        dto.setTechnologies(project.getTechnologies());
+        return dto;
+    }
+}
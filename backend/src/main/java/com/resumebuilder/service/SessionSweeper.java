@@ -0,0 +1,92 @@
+package com.resumebuilder.service;
+
+import com.resumebuilder.repository.UserSessionRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Deletes expired rows from user_sessions on a schedule. Each run deletes in
+ * chunks of batch-size rows, each in its own transaction, and stops after
+ * max-batches so one run never monopolises the table; whatever is left is
+ * picked up by the next run.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class SessionSweeper {
+
+    private final UserSessionRepository sessionRepository;
+
+    @Value("${app.auth.session-sweep.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.auth.session-sweep.batch-size:1000}")
+    private int batchSize;
+
+    @Value("${app.auth.session-sweep.max-batches:50}")
+    private int maxBatches;
+
+    private long runs;
+    private long totalDeleted;
+    private int lastDeleted;
+    private long lastDurationMs;
+    private LocalDateTime lastRun;
+    private String lastError;
+
+    @Scheduled(initialDelayString = "${app.auth.session-sweep.initial-delay-ms:60000}",
+            fixedDelayString = "${app.auth.session-sweep.interval-ms:3600000}")
+    public void sweep() {
+        if (!enabled) {
+            return;
+        }
+
+        long start = System.currentTimeMillis();
+        LocalDateTime cutoff = LocalDateTime.now();
+        int deleted = 0;
+        String error = null;
+        try {
+            for (int batch = 0; batch < maxBatches; batch++) {
+                int count = sessionRepository.deleteExpiredBatch(cutoff, batchSize);
+                deleted += count;
+                if (count < batchSize) {
+                    break;
+                }
+            }
+        } catch (Exception e) {
+            error = e.getMessage();
+            log.warn("Session sweep failed after deleting {} rows: {}", deleted, e.getMessage());
+        }
+
+        long duration = System.currentTimeMillis() - start;
+        synchronized (this) {
+            runs++;
+            totalDeleted += deleted;
+            lastDeleted = deleted;
+            lastDurationMs = duration;
+            lastRun = cutoff;
+            lastError = error;
+        }
+        if (deleted > 0) {
+            log.info("Deleted {} expired sessions in {} ms", deleted, duration);
+        }
+    }
+
+    public synchronized Map<String, Object> stats() {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("enabled", enabled);
+        stats.put("runs", runs);
+        stats.put("totalDeleted", totalDeleted);
+        stats.put("lastDeleted", lastDeleted);
+        stats.put("lastDurationMs", lastDurationMs);
+        stats.put("lastRun", lastRun);
+        stats.put("lastError", lastError);
+        return stats;
+    }
+}
@@ -0,0 +1,115 @@
+package com.resumebuilder.service;
+
+import com.resumebuilder.entity.User;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Bounded in-memory cache of session token -> user, so authenticated requests
+ * don't hit the sessions and users tables every time.
+ *
+ * A valid token is cached until its session expires, capped at max-ttl so
+ * changes made by another instance are picked up eventually. Unknown or
+ * expired tokens are cached as misses for a short negative TTL. Entries are
+ * dropped explicitly on logout and when an admin changes or deletes a user.
+ * Cached users are detached copies without OTP fields and must not be saved.
+ */
+@Component
+@Slf4j
+public class SessionTokenCache {
+
+    @Value("${app.auth.token-cache.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.auth.token-cache.max-entries:10000}")
+    private int maxEntries;
+
+    @Value("${app.auth.token-cache.max-ttl-seconds:300}")
+    private long maxTtlSeconds;
+
+    @Value("${app.auth.token-cache.negative-ttl-seconds:30}")
+    private long negativeTtlSeconds;
+
+    /** Result of a session lookup; user is null for an invalid token. */
+    public record Principal(User user, long expiresAtMillis) {
+    }
+
+    private record Entry(User user, long expiresAtMillis) {
+    }
+
+    // Access-ordered so the eldest entry is the least recently used
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(256, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+            return size() > maxEntries;
+        }
+    };
+
+    private long hits;
+    private long misses;
+    // Bumped on every invalidation so a load racing with it is not cached
+    private long generation;
+
+    /**
+     * Returns the cached user for the token, calling the loader on a miss or
+     * once the entry has expired. Returns null for invalid tokens.
+     */
+    public User get(String token, Supplier<Principal> loader) {
+        if (!enabled) {
+            return loader.get().user();
+        }
+
+        long now = System.currentTimeMillis();
+        long loadGeneration;
+        synchronized (this) {
+            Entry entry = entries.get(token);
+            if (entry != null && entry.expiresAtMillis() > now) {
+                hits++;
+                return entry.user();
+            }
+            misses++;
+            loadGeneration = generation;
+        }
+
+        // Loaded outside the lock; concurrent misses for one token just load twice
+        Principal principal = loader.get();
+        long ttlMillis = principal.user() != null
+                ? Math.min(principal.expiresAtMillis() - now, maxTtlSeconds * 1000)
+                : negativeTtlSeconds * 1000;
+        if (ttlMillis > 0) {
+            synchronized (this) {
+                if (generation == loadGeneration) {
+                    entries.put(token, new Entry(principal.user(), now + ttlMillis));
+                }
+            }
+        }
+        return principal.user();
+    }
+
+    public synchronized void invalidateToken(String token) {
+        generation++;
+        entries.remove(token);
+    }
+
+    /** Drops every cached token of the user (logout, admin changes). */
+    public synchronized void invalidateUser(String userId) {
+        generation++;
+        int before = entries.size();
+        entries.values().removeIf(entry -> entry.user() != null && entry.user().getId().equals(userId));
+        log.debug("Dropped {} cached sessions of user {}", before - entries.size(), userId);
+    }
+
+    public synchronized Map<String, Object> stats() {
+        return Map.of(
+                "enabled", enabled,
+                "entries", entries.size(),
+                "maxEntries", maxEntries,
+                "hits", hits,
+                "misses", misses);
+    }
+}
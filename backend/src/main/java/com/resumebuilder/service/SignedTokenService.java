@@ -0,0 +1,207 @@
+package com.resumebuilder.service;
+
+import com.resumebuilder.entity.TokenRevocation;
+import com.resumebuilder.entity.User;
+import com.resumebuilder.repository.TokenRevocationRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Stateless session tokens: "v1.<payload>.<signature>", where the payload
+ * carries user id, email, admin flag, issue time and expiry, signed with
+ * HMAC-SHA256. Verifying one needs no database access.
+ *
+ * Logout can't delete a signed token, so it records a per-user
+ * "revoked before" time instead; tokens issued earlier are rejected. The
+ * revocations are kept in memory and refreshed from the database on a
+ * schedule, so other instances pick them up within the refresh interval.
+ * Only revocations younger than the token lifetime matter, which keeps the
+ * list small.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class SignedTokenService {
+
+    public static final String PREFIX = "v1.";
+
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    private final TokenRevocationRepository revocationRepository;
+
+    @Value("${app.auth.signed-tokens.enabled:false}")
+    private boolean enabled;
+
+    @Value("${app.auth.signed-tokens.secret:}")
+    private String secret;
+
+    @Value("${app.auth.signed-tokens.lifetime-days:15}")
+    private int lifetimeDays;
+
+    private SecretKeySpec key;
+
+    // userId -> epoch millis; tokens of that user issued before it are revoked
+    private volatile Map<String, Long> revokedBefore = Map.of();
+    // Revocations made on this instance since the last refresh
+    private final Map<String, Long> localRevocations = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    void init() {
+        if (secret == null || secret.isBlank()) {
+            if (enabled) {
+                throw new IllegalStateException("app.auth.signed-tokens.secret is required when signed tokens are enabled");
+            }
+            return;
+        }
+        if (secret.length() < 32) {
+            throw new IllegalStateException("app.auth.signed-tokens.secret must be at least 32 characters");
+        }
+        key = new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), ALGORITHM);
+        refreshRevocations();
+        log.info("Signed session tokens {}", enabled ? "enabled" : "accepted but not issued");
+    }
+
+    /** Whether new logins should receive signed tokens instead of stored sessions. */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public static boolean isSigned(String token) {
+        return token.startsWith(PREFIX);
+    }
+
+    public String issue(User user) {
+        long now = System.currentTimeMillis();
+        long expiresAt = now + Duration.ofDays(lifetimeDays).toMillis();
+        String payload = String.join("\n", user.getId(), user.getEmail(),
+                user.isAdmin() ? "1" : "0", Long.toString(now), Long.toString(expiresAt));
+        String encoded = ENCODER.encodeToString(payload.getBytes(StandardCharsets.UTF_8));
+        return PREFIX + encoded + "." + ENCODER.encodeToString(sign(encoded));
+    }
+
+    /**
+     * Returns the principal for a signed token, or null when the token is
+     * malformed, tampered with, expired or revoked. The user is built from the
+     * token claims only.
+     */
+    public Claims verify(String token) {
+        if (key == null || !isSigned(token)) {
+            return null;
+        }
+        int dot = token.indexOf('.', PREFIX.length());
+        if (dot < 0) {
+            return null;
+        }
+
+        String encoded = token.substring(PREFIX.length(), dot);
+        try {
+            byte[] signature = DECODER.decode(token.substring(dot + 1));
+            if (!MessageDigest.isEqual(signature, sign(encoded))) {
+                return null;
+            }
+
+            String[] fields = new String(DECODER.decode(encoded), StandardCharsets.UTF_8).split("\n");
+            if (fields.length != 5) {
+                return null;
+            }
+            long issuedAt = Long.parseLong(fields[3]);
+            long expiresAt = Long.parseLong(fields[4]);
+            if (expiresAt <= System.currentTimeMillis() || isRevoked(fields[0], issuedAt)) {
+                return null;
+            }
+
+            User user = new User();
+            user.setId(fields[0]);
+            user.setEmail(fields[1]);
+            user.setAdmin("1".equals(fields[2]));
+            return new Claims(user, issuedAt, expiresAt);
+        } catch (IllegalArgumentException e) {
+            // Bad base64 or numbers
+            return null;
+        }
+    }
+
+    public record Claims(User user, long issuedAt, long expiresAt) {
+    }
+
+    /** Rejects every signed token of the user issued until now. */
+    public void revokeAll(String userId) {
+        if (key == null) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        localRevocations.put(userId, now);
+        revocationRepository.save(new TokenRevocation(userId, toLocalDateTime(now)));
+    }
+
+    @Scheduled(fixedDelayString = "${app.auth.signed-tokens.revocation-refresh-ms:30000}")
+    public void refreshRevocations() {
+        if (key == null) {
+            return;
+        }
+        try {
+            Map<String, Long> pending = new HashMap<>(localRevocations);
+            LocalDateTime cutoff = LocalDateTime.now().minusDays(lifetimeDays);
+            revocationRepository.deleteRevokedBefore(cutoff);
+
+            Map<String, Long> loaded = new HashMap<>();
+            for (TokenRevocation revocation : revocationRepository.findByRevokedBeforeAfter(cutoff)) {
+                loaded.put(revocation.getUserId(), toEpochMillis(revocation.getRevokedBefore()));
+            }
+            // Local revocations may not have been visible to the query yet
+            pending.forEach((userId, at) -> loaded.merge(userId, at, Math::max));
+            revokedBefore = Map.copyOf(loaded);
+            pending.forEach(localRevocations::remove);
+        } catch (Exception e) {
+            log.warn("Could not refresh token revocations: {}", e.getMessage());
+        }
+    }
+
+    public int revocationCount() {
+        return revokedBefore.size();
+    }
+
+    private boolean isRevoked(String userId, long issuedAt) {
+        Long local = localRevocations.get(userId);
+        Long shared = revokedBefore.get(userId);
+        return (local != null && issuedAt < local) || (shared != null && issuedAt < shared);
+    }
+
+    private byte[] sign(String payload) {
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(key);
+            return mac.doFinal(payload.getBytes(StandardCharsets.US_ASCII));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HMAC signing failed", e);
+        }
+    }
+
+    private static LocalDateTime toLocalDateTime(long epochMillis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), ZoneId.systemDefault());
+    }
+
+    private static long toEpochMillis(LocalDateTime time) {
+        return time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
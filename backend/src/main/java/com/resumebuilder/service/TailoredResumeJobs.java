@@ -0,0 +1,123 @@
+package com.resumebuilder.service;
+
+import com.resumebuilder.dto.JobMatchDTO;
+import com.resumebuilder.dto.ResumeDTO;
+import com.resumebuilder.exception.AiBusyException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Tailored resume generations running in the background on the AI pool,
+ * tracked by a random id so the client can poll for the result while it
+ * already shows the job analysis. Finished jobs are kept for ttl-ms, then
+ * swept.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class TailoredResumeJobs {
+
+    private final AiExecutor aiExecutor;
+
+    @Value("${app.job-match.jobs.ttl-ms:600000}")
+    private long ttlMillis;
+
+    // Upper bound for long polling, kept well below spring.mvc.async.request-timeout
+    @Value("${app.job-match.jobs.max-wait-ms:30000}")
+    private long maxWaitMillis;
+
+    private record Job(CompletableFuture<ResumeDTO> result, long createdAt) {
+    }
+
+    private final Map<String, Job> jobs = new ConcurrentHashMap<>();
+
+    /** Starts the generation and returns the job id. A saturated AI pool fails the job, not the caller. */
+    public String start(Supplier<ResumeDTO> generator) {
+        CompletableFuture<ResumeDTO> result;
+        try {
+            result = aiExecutor.submit(generator);
+        } catch (AiBusyException e) {
+            result = CompletableFuture.failedFuture(e);
+        }
+        String id = UUID.randomUUID().toString();
+        result.whenComplete((resume, error) -> {
+            if (error != null) {
+                log.warn("Tailored resume job {} failed: {}", id, error.getMessage());
+            }
+        });
+        jobs.put(id, new Job(result, System.currentTimeMillis()));
+        return id;
+    }
+
+    /**
+     * The job's state, once it is finished or waitMillis has passed, whichever
+     * comes first. Empty for unknown or expired ids.
+     */
+    public Optional<CompletableFuture<JobMatchDTO.ResumeJob>> get(String id, long waitMillis) {
+        Job job = jobs.get(id);
+        if (job == null) {
+            return Optional.empty();
+        }
+        long wait = Math.min(Math.max(0, waitMillis), maxWaitMillis);
+        if (wait == 0 || job.result().isDone()) {
+            return Optional.of(CompletableFuture.completedFuture(view(id, job)));
+        }
+        return Optional.of(job.result()
+                .handle((resume, error) -> (Void) null)
+                .completeOnTimeout(null, wait, TimeUnit.MILLISECONDS)
+                .thenApply(ignored -> view(id, job)));
+    }
+
+    @Scheduled(fixedDelayString = "${app.job-match.jobs.sweep-interval-ms:60000}")
+    void sweep() {
+        long cutoff = System.currentTimeMillis() - ttlMillis;
+        jobs.values().removeIf(job -> job.result().isDone() && job.createdAt() < cutoff);
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("jobs", jobs.size());
+        stats.put("pending", jobs.values().stream().filter(job -> !job.result().isDone()).count());
+        return stats;
+    }
+
+    private JobMatchDTO.ResumeJob view(String id, Job job) {
+        JobMatchDTO.ResumeJob view = new JobMatchDTO.ResumeJob();
+        view.setId(id);
+        if (!job.result().isDone()) {
+            view.setStatus("PENDING");
+        } else if (job.result().isCompletedExceptionally()) {
+            view.setStatus("FAILED");
+            view.setError(failure(job.result()));
+        } else {
+            view.setStatus("DONE");
+            view.setTailoredResume(job.result().join());
+        }
+        return view;
+    }
+
+    private static String failure(CompletableFuture<?> result) {
+        try {
+            result.join();
+            return null;
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause() != null ? e.getCause() : e;
+            return "Failed to create tailored resume: " + cause.getMessage();
+        } catch (RuntimeException e) {
+            return "Failed to create tailored resume: " + e.getMessage();
+        }
+    }
+}
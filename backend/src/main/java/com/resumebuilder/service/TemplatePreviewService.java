@@ -0,0 +1,435 @@
+package com.resumebuilder.service;
+
+import com.resumebuilder.dto.ResumeDTO;
+import com.resumebuilder.exception.RenderBusyException;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.rendering.ImageType;
+import org.apache.pdfbox.rendering.PDFRenderer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageOutputStream;
+import javax.imageio.stream.MemoryCacheImageOutputStream;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Renders the public template gallery previews once per template version and
+ * keeps the PNG bytes in memory (and optionally on disk across restarts).
+ * Sized and JPEG/WebP variants snap to the size presets and are kept in a
+ * byte-bounded LRU once rendered.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class TemplatePreviewService {
+
+    private static final int PREVIEW_DPI = 300;
+
+    // A4 is 595pt wide, so 300 DPI is ~2480px; nothing larger is ever useful
+    private static final int MAX_WIDTH = 2480;
+    private static final float A4_WIDTH_INCHES = 595f / 72f;
+
+    private static final Map<String, Integer> SIZE_PRESETS = Map.of(
+            "thumbnail", 320,
+            "medium", 800,
+            "retina", MAX_WIDTH);
+
+    private static final Map<String, String> MEDIA_TYPES = Map.of(
+            "png", "image/png",
+            "jpeg", "image/jpeg",
+            "webp", "image/webp");
+
+    private static final long RENDER_RETRY_AFTER_SECONDS = 2;
+
+    private final PdfService pdfService;
+
+    @Value("${app.preview.warmup:true}")
+    private boolean warmup;
+
+    @Value("${app.preview.disk-dir:}")
+    private String diskDir;
+
+    @Value("${app.preview.max-concurrent-renders:2}")
+    private int maxConcurrentRenders;
+
+    @Value("${app.preview.variant-cache.max-bytes:16777216}")
+    private long maxVariantBytes;
+
+    private final Map<String, Preview> previews = new ConcurrentHashMap<>();
+    private final Map<String, byte[]> samplePdfs = new ConcurrentHashMap<>();
+    private Semaphore renderPermits;
+
+    // Encoded variants by ETag; access-ordered, so the eldest entry is the least recently used
+    private final LinkedHashMap<String, byte[]> variants = new LinkedHashMap<>(64, 0.75f, true);
+    private long variantBytes;
+
+    public record Preview(byte[] png, String etag) {
+    }
+
+    public record Variant(String style, int width, String format, String mediaType, String etag) {
+    }
+
+    /** A claimed render permit; released when the variant render finishes or the slot is closed. */
+    public final class RenderSlot implements AutoCloseable {
+
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private RenderSlot() {
+        }
+
+        @Override
+        public void close() {
+            if (released.compareAndSet(false, true)) {
+                renderPermits.release();
+            }
+        }
+    }
+
+    @PostConstruct
+    void initRenderPermits() {
+        renderPermits = new Semaphore(Math.max(1, maxConcurrentRenders));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        if (!warmup) {
+            return;
+        }
+        Thread thread = new Thread(() -> {
+            for (String style : PdfService.TEMPLATE_STYLES) {
+                try {
+                    getPreview(style);
+                } catch (Exception e) {
+                    log.warn("Preview warm-up failed for {}: {}", style, e.getMessage());
+                }
+            }
+            log.info("Template previews ready ({} styles)", previews.size());
+        }, "template-preview-warmup");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Returns the stored preview for a style, rendering it on first use. Unknown
+     * styles render with the default template, so they share its entry.
+     */
+    public Preview getPreview(String style) {
+        String key = normalizeStyle(style);
+        return previews.computeIfAbsent(key, this::loadOrRender);
+    }
+
+    /**
+     * Resolves the requested size and format into a concrete variant. Width wins
+     * over DPI, which wins over the named size; the result snaps up to the next
+     * size preset (the 300 DPI page width at most), so arbitrary widths cannot
+     * multiply the variants that are rendered and cached.
+     */
+    public Variant resolveVariant(String style, String size, Integer width, Integer dpi, String format) {
+        String key = normalizeStyle(style);
+
+        int requested;
+        if (width != null) {
+            requested = width;
+        } else if (dpi != null) {
+            requested = Math.round(dpi * A4_WIDTH_INCHES);
+        } else if (size != null) {
+            Integer preset = SIZE_PRESETS.get(size.toLowerCase());
+            if (preset == null) {
+                throw new IllegalArgumentException("Unknown preview size: " + size);
+            }
+            requested = preset;
+        } else {
+            requested = MAX_WIDTH;
+        }
+        int pixels = SIZE_PRESETS.values().stream()
+                .filter(preset -> preset >= requested)
+                .min(Integer::compare)
+                .orElse(MAX_WIDTH);
+
+        String fmt = format == null ? "png" : format.toLowerCase();
+        if ("jpg".equals(fmt)) {
+            fmt = "jpeg";
+        }
+        if (!MEDIA_TYPES.containsKey(fmt) || !ImageIO.getImageWritersByFormatName(fmt).hasNext()) {
+            throw new IllegalArgumentException("Unsupported preview format: " + format);
+        }
+
+        String etag = "\"" + key + "-v" + PdfService.TEMPLATE_VERSION + "-w" + pixels + "-" + fmt + "\"";
+        return new Variant(key, pixels, fmt, MEDIA_TYPES.get(fmt), etag);
+    }
+
+    /** The encoded variant if it has been rendered before, else null. The array is shared and must not be modified. */
+    public synchronized byte[] cachedVariant(Variant variant) {
+        return variants.get(variant.etag());
+    }
+
+    /**
+     * Claims a render permit without waiting, so a burst of uncached variants
+     * is turned away with 503 instead of parking request threads.
+     *
+     * @throws RenderBusyException when every permit is taken
+     */
+    public RenderSlot reserveRender() {
+        if (!renderPermits.tryAcquire()) {
+            throw new RenderBusyException("Preview renderer is busy, try again shortly", RENDER_RETRY_AFTER_SECONDS);
+        }
+        return new RenderSlot();
+    }
+
+    /**
+     * Rasterizes the sample resume at the variant's width and encodes it
+     * straight into the given stream, keeping a copy for the variant cache once
+     * the encode completed. Releases the slot.
+     */
+    public void writeVariant(Variant variant, RenderSlot slot, OutputStream out) throws IOException {
+        try (slot) {
+            ByteArrayOutputStream copy = new ByteArrayOutputStream();
+            draw(variant.style(), variant.width(), variant.format(), new TeeOutputStream(out, copy));
+            cacheVariant(variant.etag(), copy.toByteArray());
+        }
+    }
+
+    public String normalizeStyle(String style) {
+        return PdfService.TEMPLATE_STYLES.contains(style) ? style : "modern";
+    }
+
+    public ResumeDTO buildSampleResume(String style) {
+        ResumeDTO dummy = new ResumeDTO();
+        dummy.setFullName("Alexander J. Sterling");
+        dummy.setEmail("alex.sterling@example.com");
+        dummy.setPhone("+1 (555) 123-4567");
+        dummy.setLocation("San Francisco, CA");
+        dummy.setLinkedIn("linkedin.com/in/alexsterling");
+        dummy.setWebsite("alexsterling.dev");
+        dummy.setSummary(
+                "Senior Software Architect with 8+ years of experience designing scalable, high-performance distributed systems. Proven track record of leading cross-functional teams to deliver mission-critical solutions in FinTech and Cloud Infrastructure. Passionate about clean code, microservices architecture, and mentoring junior developers.");
+
+        dummy.setSkills(List.of(
+                "Java / Kotlin", "Spring Boot", "Microservices", "React.js", "System Design",
+                "AWS (ECS, Lambda, S3)", "Docker & Kubernetes", "PostgreSQL", "Redis",
+                "Kafka", "CI/CD (Jenkins, GitHub Actions)", "Agile Leadership"));
+
+        ResumeDTO.Experience exp1 = new ResumeDTO.Experience();
+        exp1.setCompany("Nexus Cloud Solutions");
+        exp1.setPosition("Senior Software Architect");
+        exp1.setStartDate("2021");
+        exp1.setEndDate("Present");
+        exp1.setHighlights(List.of(
+                "Architected a cloud-native payment processing engine processing $50M+ daily volume, achieving 99.99% availability.",
+                "Led the migration of a legacy monolith to microservices, reducing deployment time by 60% and infrastructure costs by 25%.",
+                "Mentored a team of 12 engineers, establishing code review standards and introducing TDD practices."));
+
+        ResumeDTO.Experience exp2 = new ResumeDTO.Experience();
+        exp2.setCompany("FinGlobal Systems");
+        exp2.setPosition("Lead Backend Engineer");
+        exp2.setStartDate("2018");
+        exp2.setEndDate("2021");
+        exp2.setHighlights(List.of(
+                "Designed and implemented a real-time fraud detection service using Kafka and Spark, reducing fraudulent transactions by 40%.",
+                "Optimized database queries and indexing strategies, improving API response times from 500ms to 50ms.",
+                "Collaborated with product managers to define roadmap and technical requirements for the core banking platform."));
+
+        ResumeDTO.Experience exp3 = new ResumeDTO.Experience();
+        exp3.setCompany("Innovate Tech");
+        exp3.setPosition("Software Engineer");
+        exp3.setStartDate("2015");
+        exp3.setEndDate("2018");
+        exp3.setHighlights(List.of(
+                "Developed full-stack features for a SaaS dashboard using Spring Boot and Angular.",
+                "Implemented automated testing pipelines increasing code coverage from 45% to 85%.",
+                "Resolved critical production bugs and improved system stability during high-traffic events."));
+
+        ResumeDTO.Education edu1 = new ResumeDTO.Education();
+        edu1.setInstitution("Stanford University");
+        edu1.setDegree("M.S. Computer Science");
+        edu1.setStartDate("2013");
+        edu1.setEndDate("2015");
+
+        ResumeDTO.Education edu2 = new ResumeDTO.Education();
+        edu2.setInstitution("University of California, Berkeley");
+        edu2.setDegree("B.S. Electrical Engineering & CS");
+        edu2.setStartDate("2009");
+        edu2.setEndDate("2013");
+
+        dummy.setExperience(List.of(exp1, exp2, exp3));
+        dummy.setEducation(List.of(edu1, edu2));
+        dummy.setTemplate(style);
+        return dummy;
+    }
+
+    private Preview loadOrRender(String style) {
+        Path file = previewFile(style);
+        if (file != null && Files.exists(file)) {
+            try {
+                byte[] png = Files.readAllBytes(file);
+                return new Preview(png, etagFor(style, png));
+            } catch (IOException e) {
+                log.warn("Failed to read stored preview {}: {}", file, e.getMessage());
+            }
+        }
+
+        long start = System.currentTimeMillis();
+        byte[] png = render(style);
+        log.info("Rendered {} template preview in {} ms ({} bytes)", style, System.currentTimeMillis() - start,
+                png.length);
+
+        if (file != null) {
+            try {
+                Files.createDirectories(file.getParent());
+                Files.write(file, png);
+            } catch (IOException e) {
+                log.warn("Failed to store preview {}: {}", file, e.getMessage());
+            }
+        }
+        return new Preview(png, etagFor(style, png));
+    }
+
+    private byte[] samplePdf(String style) {
+        return samplePdfs.computeIfAbsent(style,
+                s -> pdfService.generatePdfDirect(buildSampleResume(s), s));
+    }
+
+    private synchronized void cacheVariant(String etag, byte[] image) {
+        if (image.length > maxVariantBytes) {
+            return;
+        }
+        byte[] previous = variants.put(etag, image);
+        variantBytes += image.length - (previous == null ? 0 : previous.length);
+
+        Iterator<Map.Entry<String, byte[]>> it = variants.entrySet().iterator();
+        while (variantBytes > maxVariantBytes && it.hasNext()) {
+            Map.Entry<String, byte[]> eldest = it.next();
+            if (eldest.getKey().equals(etag)) {
+                continue;
+            }
+            it.remove();
+            variantBytes -= eldest.getValue().length;
+        }
+    }
+
+    // Rasterizing allocates a full-size BufferedImage, so cap how many run at once
+    private void rasterize(String style, int width, String format, OutputStream out) throws IOException {
+        try {
+            if (!renderPermits.tryAcquire(30, TimeUnit.SECONDS)) {
+                throw new IOException("Timed out waiting for a preview render slot");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted waiting for a preview render slot", e);
+        }
+
+        try {
+            draw(style, width, format, out);
+        } finally {
+            renderPermits.release();
+        }
+    }
+
+    // Callers hold a render permit
+    private void draw(String style, int width, String format, OutputStream out) throws IOException {
+        try (PDDocument document = PDDocument.load(samplePdf(style))) {
+            float pageWidth = document.getPage(0).getMediaBox().getWidth();
+            BufferedImage image = new PDFRenderer(document).renderImage(0, width / pageWidth, ImageType.RGB);
+            encode(image, format, out);
+        }
+    }
+
+    private void encode(BufferedImage image, String format, OutputStream out) throws IOException {
+        Iterator<ImageWriter> writers = ImageIO.getImageWritersByFormatName(format);
+        if (!writers.hasNext()) {
+            throw new IOException("No image writer for " + format);
+        }
+        ImageWriter writer = writers.next();
+        // Memory-cached stream flushes chunk by chunk instead of spooling a temp file
+        try (ImageOutputStream ios = new MemoryCacheImageOutputStream(out)) {
+            writer.setOutput(ios);
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            if ("jpeg".equals(format)) {
+                param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+                param.setCompressionQuality(0.85f);
+            }
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+    }
+
+    private byte[] render(String style) {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        try {
+            // Render page 0 at 300 DPI for high quality (Retina ready)
+            rasterize(style, Math.round(A4_WIDTH_INCHES * PREVIEW_DPI), "png", baos);
+        } catch (IOException e) {
+            throw new RuntimeException("Error rendering template preview: " + style, e);
+        }
+        return baos.toByteArray();
+    }
+
+    // Files are versioned so a template code change never serves an old image
+    private Path previewFile(String style) {
+        if (diskDir == null || diskDir.isBlank()) {
+            return null;
+        }
+        return Paths.get(diskDir, style + "-v" + PdfService.TEMPLATE_VERSION + ".png");
+    }
+
+    private String etagFor(String style, byte[] png) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(png);
+            return "\"" + style + "-v" + PdfService.TEMPLATE_VERSION + "-"
+                    + HexFormat.of().formatHex(digest, 0, 8) + "\"";
+        } catch (NoSuchAlgorithmException e) {
+            throw new RuntimeException("Error computing preview ETag", e);
+        }
+    }
+
+    // Writes to the response and to the copy that goes into the variant cache
+    private static final class TeeOutputStream extends FilterOutputStream {
+
+        private final OutputStream copy;
+
+        TeeOutputStream(OutputStream out, OutputStream copy) {
+            super(out);
+            this.copy = copy;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            copy.write(b);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+            copy.write(b, off, len);
+        }
+    }
+}
@@ -7,6 +7,12 @@ export const jobMatchApi = {
     const response = await axios.post(`${API_URL}/analyze`, jobData);
     return response.data;
   },
+
+  // Resolves when the tailored resume job finishes or waitMs passes; check status
+  getResumeJob: async (jobId, waitMs = 0) => {
+    const response = await axios.get(`${API_URL}/jobs/${jobId}`, { params: { waitMs } });
+    return response.data;
+  },
 };
 
 export default jobMatchApi;
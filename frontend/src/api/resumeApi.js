@@ -1,12 +1,13 @@
-import api from './config';
+import api, { API_BASE_URL } from './config';
 import { Capacitor } from '@capacitor/core';
 import { Filesystem, Directory } from '@capacitor/filesystem';
 
 const API_URL = '/api/resumes';
 
 export const resumeApi = {
-  getAll: async () => {
-    const response = await api.get(API_URL);
+  // One page of resume summaries ({ items, nextCursor }); pass nextCursor to get the next page
+  getAll: async (cursor) => {
+    const response = await api.get(API_URL, { params: cursor ? { cursor } : {} });
     return response.data;
   },
 
@@ -25,6 +26,12 @@ export const resumeApi = {
     return response.data;
   },
 
+  // Partial update: send only changed fields plus the version last read
+  patch: async (id, changes) => {
+    const response = await api.patch(`${API_URL}/${id}`, changes);
+    return response.data;
+  },
+
   delete: async (id) => {
     await api.delete(`${API_URL}/${id}`);
   },
@@ -34,6 +41,53 @@ export const resumeApi = {
     return response.data;
   },
 
+  // Streamed chat: onText receives the reply text piece by piece; resolves to the same
+  // response as chatWithAi once the reply is complete
+  chatWithAiStream: async (currentResume, message, onText) => {
+    const token = localStorage.getItem('token');
+    const response = await fetch(`${API_BASE_URL}/api/ai/chat/stream`, {
+      method: 'POST',
+      headers: {
+        'Content-Type': 'application/json',
+        Accept: 'text/event-stream',
+        ...(token ? { Authorization: `Bearer ${token}` } : {}),
+      },
+      body: JSON.stringify({ currentResume, message }),
+    });
+    if (!response.ok || !response.body) {
+      throw new Error(`Chat stream failed: ${response.status}`);
+    }
+
+    const reader = response.body.getReader();
+    const decoder = new TextDecoder();
+    let buffer = '';
+    for (;;) {
+      const { done, value } = await reader.read();
+      if (done) break;
+      buffer += decoder.decode(value, { stream: true }).replace(/\r\n/g, '\n');
+
+      let boundary;
+      while ((boundary = buffer.indexOf('\n\n')) >= 0) {
+        const block = buffer.slice(0, boundary);
+        buffer = buffer.slice(boundary + 2);
+
+        let event = 'message';
+        const data = [];
+        for (const line of block.split('\n')) {
+          if (line.startsWith('event:')) event = line.slice(6).trim();
+          else if (line.startsWith('data:')) data.push(line.slice(5).replace(/^ /, ''));
+        }
+        if (data.length === 0) continue;
+        const payload = JSON.parse(data.join('\n'));
+
+        if (event === 'message') onText(payload.text);
+        else if (event === 'done') return payload;
+        else if (event === 'error') throw new Error(payload.message);
+      }
+    }
+    throw new Error('Chat stream ended unexpectedly');
+  },
+
   // Client-side wrapper that delegates PDF generation to Backend Puppeteer Service
   // This ensures 100% Visual Fidelity (identical to preview) + Vector Quality + Single Page
   exportPdfFromPreview: async (previewElement, filename = 'resume.pdf') => {
@@ -110,10 +164,13 @@ export const resumeApi = {
             </html>
         `;
 
-        // 4. Send to Backend
+        // 4. Send to Backend (raw HTML body so the server can stream it to the renderer)
         const response = await api.post('/api/resumes/pdf/export',
-          { html: htmlContent },
-          { responseType: 'blob' }
+          htmlContent,
+          {
+            headers: { 'Content-Type': 'text/html; charset=utf-8' },
+            responseType: 'blob'
+          }
         );
 
         // 5. Save/Download File
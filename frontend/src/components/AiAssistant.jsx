@@ -48,15 +48,28 @@ const AiAssistant = ({ currentResume, onUpdateResume }) => {
         setMessages(prev => [...prev, { role: 'user', content: userMsg }]);
         setIsLoading(true);
 
-        try {
-            const response = await resumeApi.chatWithAi(currentResume, userMsg);
-
-            const assistantMsg = {
-                role: 'assistant',
-                content: response.message || "I've processed your request."
-            };
+        // The reply is shown as it streams in; replaceLast updates that message in place
+        let streamed = '';
+        let started = false;
+        const replaceLast = (content) => setMessages(prev => [...prev.slice(0, -1), { role: 'assistant', content }]);
 
-            setMessages(prev => [...prev, assistantMsg]);
+        try {
+            const response = await resumeApi.chatWithAiStream(currentResume, userMsg, (text) => {
+                streamed += text;
+                if (!started) {
+                    started = true;
+                    setMessages(prev => [...prev, { role: 'assistant', content: streamed }]);
+                } else {
+                    replaceLast(streamed);
+                }
+            });
+
+            const content = response.message || "I've processed your request.";
+            if (started) {
+                replaceLast(content);
+            } else {
+                setMessages(prev => [...prev, { role: 'assistant', content }]);
+            }
 
             // If optimization/updates provided, apply them
             if (response.suggestedUpdates) {
@@ -34,6 +34,19 @@ export default function Editor() {
   const [downloadProgress, setDownloadProgress] = useState(0);
 
   const previewRef = useRef(null);
+  // Last state known to the server (including its version), for partial autosaves
+  const savedRef = useRef(null);
+
+  const changedFields = (current, saved) => {
+    const changes = {};
+    for (const key of Object.keys(current)) {
+      if (['id', 'version', 'createdAt', 'updatedAt'].includes(key)) continue;
+      if (JSON.stringify(current[key]) !== JSON.stringify(saved?.[key])) {
+        changes[key] = current[key];
+      }
+    }
+    return changes;
+  };
 
   const sanitizeResume = (data) => {
     const safeArray = (arr) => Array.isArray(arr) ? arr : [];
@@ -81,10 +94,19 @@ export default function Editor() {
     if (!id || !resume.fullName) return; // Only auto-save if editing existing resume with name
 
     const autoSaveTimer = setTimeout(async () => {
+      const changes = changedFields(resume, savedRef.current);
+      if (Object.keys(changes).length === 0) return;
       try {
-        await resumeApi.update(id, resume);
-        console.log('✅ Auto-saved');
+        const saved = await resumeApi.patch(id, { ...changes, version: savedRef.current?.version });
+        savedRef.current = { ...resume, version: saved.version };
+        console.log('✅ Auto-saved', Object.keys(changes));
       } catch (error) {
+        if (error.response?.status === 409) {
+          // Our version is stale, so every later autosave would conflict too; continue from the latest one
+          alert('This resume was changed in another window. Loading the latest version.');
+          loadResume(id);
+          return;
+        }
         console.error('Auto-save failed:', error);
       }
     }, 3000); // Auto-save 3 seconds after last change
@@ -95,8 +117,14 @@ export default function Editor() {
   const loadResume = async (resumeId) => {
     try {
       const data = await resumeApi.getById(resumeId);
+      savedRef.current = data;
       setResume(data);
     } catch (error) {
+      if (error.response?.status === 409) {
+        // Autosaved edits were overwritten by another save; the conflict is reported once
+        alert('Some recent changes could not be saved because this resume was changed in another window.');
+        return loadResume(resumeId);
+      }
       console.error('Failed to load resume:', error);
       navigate('/');
     } finally {
@@ -114,11 +142,12 @@ export default function Editor() {
     try {
       let saved;
       if (id) {
-        saved = await resumeApi.update(id, resume);
+        saved = await resumeApi.update(id, { ...resume, version: savedRef.current?.version });
       } else {
         saved = await resumeApi.create(resume);
         navigate(`/editor/${saved.id}`, { replace: true });
       }
+      savedRef.current = saved;
       setResume(saved);
       return saved;
     } catch (error) {
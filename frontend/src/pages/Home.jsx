@@ -6,6 +6,8 @@ import ProfessionalSamples from '../components/ProfessionalSamples';
 
 export default function Home() {
   const [resumes, setResumes] = useState([]);
+  const [nextCursor, setNextCursor] = useState(null);
+  const [loadingMore, setLoadingMore] = useState(false);
   const [loading, setLoading] = useState(true);
   const [activeTab, setActiveTab] = useState('samples');
   const navigate = useNavigate();
@@ -16,8 +18,9 @@ export default function Home() {
 
   const loadResumes = async () => {
     try {
-      const data = await resumeApi.getAll();
-      setResumes(data);
+      const page = await resumeApi.getAll();
+      setResumes(page.items);
+      setNextCursor(page.nextCursor);
     } catch (error) {
       console.error('Failed to load resumes:', error);
     } finally {
@@ -25,6 +28,19 @@ export default function Home() {
     }
   };
 
+  const loadMoreResumes = async () => {
+    setLoadingMore(true);
+    try {
+      const page = await resumeApi.getAll(nextCursor);
+      setResumes([...resumes, ...page.items]);
+      setNextCursor(page.nextCursor);
+    } catch (error) {
+      console.error('Failed to load resumes:', error);
+    } finally {
+      setLoadingMore(false);
+    }
+  };
+
   const handleDelete = async (id, e) => {
     e.stopPropagation();
     if (window.confirm('Delete this resume?')) {
@@ -143,7 +159,7 @@ export default function Home() {
               : 'border-transparent text-gray-700 dark:text-gray-300 dark:text-gray-400 hover:text-gray-900 dark:text-gray-100'
               }`}
           >
-            My Resumes ({resumes.length})
+            My Resumes ({resumes.length}{nextCursor ? '+' : ''})
           </button>
         </div>
       </div>
@@ -205,16 +221,16 @@ export default function Home() {
                   <h3 className="font-semibold text-gray-900 dark:text-gray-50 mb-1 truncate">{resume.fullName}</h3>
                   <p className="text-sm text-gray-700 dark:text-gray-300 dark:text-gray-400 truncate">{resume.email || 'No email'}</p>
 
-                  {resume.skills?.length > 0 && (
+                  {resume.skillCount > 0 && (
                     <div className="flex flex-wrap gap-1.5 mt-4">
-                      {resume.skills.slice(0, 3).map((skill, i) => (
+                      {resume.topSkills.map((skill, i) => (
                         <span key={i} className="text-xs px-2 py-1 rounded-md bg-gray-100 dark:bg-[#27272A] text-gray-700 dark:text-gray-300 dark:text-gray-400">
                           {skill}
                         </span>
                       ))}
-                      {resume.skills.length > 3 && (
+                      {resume.skillCount > resume.topSkills.length && (
                         <span className="text-xs px-2 py-1 text-gray-700 dark:text-gray-300 dark:text-gray-400">
-                          +{resume.skills.length - 3}
+                          +{resume.skillCount - resume.topSkills.length}
                         </span>
                       )}
                     </div>
@@ -223,13 +239,24 @@ export default function Home() {
                   <div className="flex items-center justify-between mt-4 pt-4 border-t border-gray-200 dark:border-gray-800">
                     <span className="text-xs text-gray-700 dark:text-gray-300 capitalize">{resume.template} template</span>
                     <span className="text-xs text-gray-700 dark:text-gray-300">
-                      {resume.experience?.length || 0} exp • {resume.education?.length || 0} edu
+                      {resume.experienceCount} exp • {resume.educationCount} edu
                     </span>
                   </div>
                 </div>
               ))}
             </div>
           )}
+          {nextCursor && (
+            <div className="flex justify-center">
+              <button
+                onClick={loadMoreResumes}
+                disabled={loadingMore}
+                className="px-4 py-2 text-sm font-medium rounded-lg border border-gray-200 dark:border-gray-800 text-gray-700 dark:text-gray-300 hover:border-gray-300 dark:hover:border-gray-700 transition-smooth disabled:opacity-50"
+              >
+                {loadingMore ? 'Loading...' : 'Load more'}
+              </button>
+            </div>
+          )}
         </>
       )}
     </div>
@@ -1,4 +1,4 @@
-import { useState } from 'react';
+import { useEffect, useRef, useState } from 'react';
 import { useNavigate } from 'react-router-dom';
 import jobMatchApi from '../api/jobMatchApi';
 
@@ -9,6 +9,10 @@ export default function JobMatch() {
   const [loading, setLoading] = useState(false);
   const [analysis, setAnalysis] = useState(null);
   const [error, setError] = useState('');
+  const [resumeError, setResumeError] = useState('');
+  const [resumePending, setResumePending] = useState(false);
+  // Bumped on each analysis and on unmount so a stale poll loop stops
+  const pollRun = useRef(0);
   const navigate = useNavigate();
 
   const handleAnalyze = async () => {
@@ -19,10 +23,14 @@ export default function JobMatch() {
 
     setLoading(true);
     setError('');
+    setResumeError('');
+    setResumePending(false);
     setAnalysis(null);
+    const run = ++pollRun.current;
 
+    let result;
     try {
-      const result = await jobMatchApi.analyzeJob({
+      result = await jobMatchApi.analyzeJob({
         jobDescription,
         jobTitle: jobTitle || null,
         company: company || null,
@@ -30,11 +38,45 @@ export default function JobMatch() {
       setAnalysis(result);
     } catch (err) {
       setError(err.response?.data?.error || 'Failed to analyze job. Please try again.');
+      return;
     } finally {
       setLoading(false);
     }
+
+    // The analysis is shown right away; the tailored resume follows from a background job
+    if (result.resumeJobId) {
+      pollResume(result.resumeJobId, run);
+    }
+  };
+
+  const pollResume = async (jobId, run) => {
+    setResumePending(true);
+    try {
+      while (run === pollRun.current) {
+        const job = await jobMatchApi.getResumeJob(jobId, 25000);
+        if (run !== pollRun.current) return;
+        if (job.status === 'DONE') {
+          setAnalysis((current) => ({ ...current, tailoredResume: job.tailoredResume }));
+          return;
+        }
+        if (job.status === 'FAILED') {
+          setResumeError(job.error || 'Failed to create the tailored resume. Please try again.');
+          return;
+        }
+      }
+    } catch (err) {
+      if (run === pollRun.current) {
+        setResumeError(err.response?.data?.error || 'Failed to create the tailored resume. Please try again.');
+      }
+    } finally {
+      if (run === pollRun.current) {
+        setResumePending(false);
+      }
+    }
   };
 
+  useEffect(() => () => { pollRun.current++; }, []);
+
   const handleUseResume = () => {
     if (analysis?.tailoredResume) {
       navigate('/editor', {
@@ -253,6 +295,19 @@ Responsibilities:
                 </div>
               )}
 
+              {resumePending && !analysis.tailoredResume && (
+                <div className="bg-white dark:bg-[#18181B] border border-gray-200 dark:border-gray-800 rounded-xl p-6 flex items-center gap-3">
+                  <div className="w-5 h-5 border-2 border-gray-300 dark:border-white/30 border-t-gray-900 dark:border-t-white rounded-full animate-spin"></div>
+                  <p className="text-gray-700 dark:text-gray-300 text-sm">Creating your tailored resume...</p>
+                </div>
+              )}
+
+              {resumeError && (
+                <div className="p-3 rounded-lg bg-red-500/10 border border-red-500/20 text-red-400 text-sm">
+                  {resumeError}
+                </div>
+              )}
+
               {/* Tailored Resume Preview */}
               {analysis.tailoredResume && (
                 <div className="bg-gradient-to-br from-black/10 to-gray-500/10 border border-black dark:border-white/30 rounded-xl p-6 space-y-4">